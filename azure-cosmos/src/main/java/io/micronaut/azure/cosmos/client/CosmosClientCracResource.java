@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.cosmos.client;
+
+import com.azure.cosmos.CosmosAsyncClient;
+import com.azure.cosmos.CosmosClient;
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.BeanRegistration;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.crac.OrderedResource;
+import jakarta.inject.Singleton;
+import org.crac.Context;
+import org.crac.Resource;
+
+/**
+ * CRaC resource destroying the {@link CosmosClient} and {@link CosmosAsyncClient} beans before a checkpoint, which
+ * closes their connections. The clients are created again with the restored configuration the next time they are
+ * looked up, so they should be injected lazily, for example with a {@link jakarta.inject.Provider} or into
+ * {@link io.micronaut.runtime.context.scope.Refreshable} beans.
+ *
+ * @since 5.8.0
+ */
+@Internal
+@Singleton
+@Requires(classes = OrderedResource.class)
+@Requires(beans = CosmosClientConfiguration.class)
+final class CosmosClientCracResource implements OrderedResource {
+
+    private final BeanContext beanContext;
+
+    /**
+     * @param beanContext The bean context
+     */
+    CosmosClientCracResource(BeanContext beanContext) {
+        this.beanContext = beanContext;
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        destroyActiveClients(CosmosClient.class);
+        destroyActiveClients(CosmosAsyncClient.class);
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        // the clients are created lazily
+    }
+
+    private <T> void destroyActiveClients(Class<T> clientType) {
+        for (BeanRegistration<T> registration : beanContext.getActiveBeanRegistrations(clientType)) {
+            beanContext.destroyBean(registration);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package io.micronaut.azure.cosmos.client
+
+import com.azure.cosmos.CosmosAsyncClient
+import com.azure.cosmos.CosmosClient
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.BeanProvider
+import io.micronaut.context.annotation.Requires as RequiresBean
+import io.micronaut.crac.OrderedResource
+import jakarta.inject.Singleton
+import org.testcontainers.DockerClientFactory
+import spock.lang.AutoCleanup
+import spock.lang.IgnoreIf
+import spock.lang.Requires
+import spock.lang.Shared
+import spock.lang.Specification
+
+@Requires({ DockerClientFactory.instance().isDockerAvailable() })
+@IgnoreIf(value = { env["GITHUB_WORKFLOW"] }, reason = "https://github.com/Azure/azure-cosmos-db-emulator-docker/issues/56")
+class CosmosClientCracResourceSpec extends Specification implements AzureCosmosTestProperties {
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run(properties + ['spec.name': 'CosmosClientCracResourceSpec'])
+
+    void 'the clients are destroyed before a checkpoint and re-created for their consumers after a restore'() {
+        given:
+        var consumer = context.getBean(CosmosClientConsumer)
+        CosmosClient client = consumer.client
+        CosmosAsyncClient asyncClient = consumer.asyncClient
+        var resource = context.getBeansOfType(OrderedResource).find { it instanceof CosmosClientCracResource }
+
+        when:
+        resource.beforeCheckpoint(null)
+
+        then:
+        context.getActiveBeanRegistrations(CosmosClient).empty
+        context.getActiveBeanRegistrations(CosmosAsyncClient).empty
+
+        when:
+        resource.afterRestore(null)
+
+        then:
+        !consumer.client.is(client)
+        !consumer.asyncClient.is(asyncClient)
+        consumer.client.createDatabaseIfNotExists('cracDb').properties.id == 'cracDb'
+    }
+
+    @Singleton
+    @RequiresBean(property = 'spec.name', value = 'CosmosClientCracResourceSpec')
+    static class CosmosClientConsumer {
+
+        private final BeanProvider<CosmosClient> clientProvider
+        private final BeanProvider<CosmosAsyncClient> asyncClientProvider
+
+        CosmosClientConsumer(BeanProvider<CosmosClient> clientProvider, BeanProvider<CosmosAsyncClient> asyncClientProvider) {
+            this.clientProvider = clientProvider
+            this.asyncClientProvider = asyncClientProvider
+        }
+
+        CosmosClient getClient() {
+            clientProvider.get()
+        }
+
+        CosmosAsyncClient getAsyncClient() {
+            asyncClientProvider.get()
+        }
+    }
+}
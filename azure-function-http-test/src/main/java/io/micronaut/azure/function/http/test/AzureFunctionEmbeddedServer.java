@@ -19,15 +19,14 @@ import com.microsoft.azure.functions.ExecutionContext;
 import com.microsoft.azure.functions.HttpRequestMessage;
 import com.microsoft.azure.functions.HttpResponseMessage;
 import com.microsoft.azure.functions.HttpStatusType;
+import io.micronaut.azure.function.http.AzureFunctionHttpExchangeFactory;
 import io.micronaut.azure.function.http.AzureFunctionHttpRequest;
-import io.micronaut.azure.function.http.AzureFunctionHttpResponse;
 import io.micronaut.azure.function.http.HttpRequestMessageBuilder;
 import io.micronaut.context.ApplicationContext;
 import io.micronaut.context.env.Environment;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.io.IOUtils;
-import io.micronaut.function.BinaryTypeConfiguration;
 import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpMethod;
 import io.micronaut.http.server.HttpServerConfiguration;
@@ -35,7 +34,6 @@ import io.micronaut.http.server.exceptions.HttpServerException;
 import io.micronaut.http.server.exceptions.ServerStartupException;
 import io.micronaut.runtime.ApplicationConfiguration;
 import io.micronaut.runtime.server.EmbeddedServer;
-import io.micronaut.servlet.http.BodyBuilder;
 import io.micronaut.servlet.http.ServletExchange;
 import io.micronaut.servlet.http.ServletHttpHandler;
 import io.micronaut.servlet.http.ServletHttpResponse;
@@ -191,6 +189,7 @@ final class AzureFunctionEmbeddedServer implements EmbeddedServer {
     private static final class AzureHandler extends AbstractHandler {
 
         private final ServletHttpHandler<HttpRequestMessage<Optional<String>>, HttpResponseMessage> httpHandler;
+        private final AzureFunctionHttpExchangeFactory exchangeFactory;
 
         /**
          * Default constructor.
@@ -208,6 +207,7 @@ final class AzureFunctionEmbeddedServer implements EmbeddedServer {
                     throw new UnsupportedOperationException("Creating the exchange directly is not supported");
                 }
             };
+            exchangeFactory = applicationContext.getBean(AzureFunctionHttpExchangeFactory.class);
         }
 
         public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
@@ -247,21 +247,8 @@ final class AzureFunctionEmbeddedServer implements EmbeddedServer {
             }
 
             HttpRequestMessage<Optional<String>> requestMessage = requestMessageBuilder.buildEncoded();
-            ConversionService handlerConversionService = httpHandler.getApplicationContext().getBean(ConversionService.class);
-            BinaryTypeConfiguration binaryTypeConfiguration = httpHandler.getApplicationContext().getBean(BinaryTypeConfiguration.class);
             AzureFunctionHttpRequest<?> azureFunctionHttpRequest =
-                    new AzureFunctionHttpRequest<>(
-                            requestMessage,
-                            new AzureFunctionHttpResponse<>(
-                                requestMessage,
-                                handlerConversionService,
-                                binaryTypeConfiguration
-                            ),
-                            new DefaultExecutionContext(),
-                            handlerConversionService,
-                            binaryTypeConfiguration,
-                            httpHandler.getApplicationContext().getBean(BodyBuilder.class)
-                    );
+                    exchangeFactory.create(requestMessage, new DefaultExecutionContext());
 
             ServletExchange<HttpRequestMessage<Optional<String>>, HttpResponseMessage> exchange =
                     httpHandler.exchange(azureFunctionHttpRequest);
@@ -20,15 +20,18 @@ import com.microsoft.azure.functions.HttpRequestMessage;
 import com.microsoft.azure.functions.TraceContext;
 import io.micronaut.context.annotation.Replaces;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.bind.ArgumentBinder;
 import io.micronaut.core.convert.ArgumentConversionContext;
 import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.type.Argument;
 import io.micronaut.http.HttpRequest;
+import io.micronaut.http.annotation.Part;
 import io.micronaut.http.bind.DefaultRequestBinderRegistry;
 import io.micronaut.http.bind.binders.DefaultBodyAnnotationBinder;
 import io.micronaut.http.bind.binders.RequestArgumentBinder;
 import io.micronaut.http.bind.binders.TypedRequestArgumentBinder;
 import io.micronaut.http.codec.MediaTypeCodecRegistry;
+import io.micronaut.http.multipart.CompletedPart;
 import io.micronaut.servlet.http.ServletBinderRegistry;
 import jakarta.inject.Singleton;
 
@@ -46,6 +49,8 @@ class AzureBinderRegistry<T> extends ServletBinderRegistry<T> {
     private static final Argument<Logger> LOGGER_ARGUMENT = Argument.of(Logger.class);
     private static final Argument<HttpRequestMessage> REQUEST_MESSAGE_ARGUMENT = Argument.of(HttpRequestMessage.class);
 
+    private final AzurePartBinder partBinder;
+
     AzureBinderRegistry(
         MediaTypeCodecRegistry mediaTypeCodecRegistry,
         ConversionService conversionService,
@@ -53,12 +58,19 @@ class AzureBinderRegistry<T> extends ServletBinderRegistry<T> {
         DefaultBodyAnnotationBinder<T> defaultBodyAnnotationBinder
     ) {
         super(mediaTypeCodecRegistry, conversionService, binders, defaultBodyAnnotationBinder);
+        this.partBinder = new AzurePartBinder(conversionService);
         this.byType.put(HttpRequestMessage.class, new TypedRequestArgumentBinder<HttpRequestMessage>() {
             @Override
             public BindingResult<HttpRequestMessage> bind(
                 ArgumentConversionContext<HttpRequestMessage> context, HttpRequest<?> source) {
                 if (source instanceof AzureFunctionHttpRequest<?> req) {
-                    return () -> Optional.of(req.getNativeRequest());
+                    HttpRequestMessage<?> nativeRequest = req.getNativeRequest();
+                    // the received message is only bound when the controller declares its byte[] body type
+                    if (nativeRequest instanceof BinaryHttpRequestMessage binaryRequest && isBinaryBody(context.getArgument())) {
+                        nativeRequest = binaryRequest.getDelegate();
+                    }
+                    HttpRequestMessage<?> requestMessage = nativeRequest;
+                    return () -> Optional.of(requestMessage);
                 } else {
                     return BindingResult.EMPTY;
                 }
@@ -117,4 +129,20 @@ class AzureBinderRegistry<T> extends ServletBinderRegistry<T> {
             }
         });
     }
+
+    private static boolean isBinaryBody(Argument<HttpRequestMessage> argument) {
+        return argument.getFirstTypeVariable()
+            .flatMap(Argument::getFirstTypeVariable)
+            .map(body -> body.getType() == byte[].class)
+            .orElse(false);
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <A> Optional<ArgumentBinder<A, HttpRequest<?>>> findArgumentBinder(Argument<A> argument) {
+        if (argument.getAnnotationMetadata().hasAnnotation(Part.class) || CompletedPart.class.isAssignableFrom(argument.getType())) {
+            return Optional.of((ArgumentBinder) partBinder);
+        }
+        return super.findArgumentBinder(argument);
+    }
 }
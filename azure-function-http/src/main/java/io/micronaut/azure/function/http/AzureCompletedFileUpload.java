@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function.http;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.multipart.CompletedFileUpload;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * A part of a {@code multipart/form-data} request. The content is a view over the request body, it is not copied
+ * unless {@link #getBytes()} is called.
+ *
+ * @since 5.8.0
+ */
+@Internal
+final class AzureCompletedFileUpload implements CompletedFileUpload {
+
+    private final String name;
+    private final String filename;
+    private final MediaType contentType;
+    private final byte[] data;
+    private final int offset;
+    private final int length;
+
+    /**
+     * @param name The name of the part
+     * @param filename The file name of the part, if any
+     * @param contentType The content type of the part, if any
+     * @param data The request body
+     * @param offset The offset of the part content in the request body
+     * @param length The length of the part content
+     */
+    AzureCompletedFileUpload(@NonNull String name,
+                             @Nullable String filename,
+                             @Nullable MediaType contentType,
+                             @NonNull byte[] data,
+                             int offset,
+                             int length) {
+        this.name = name;
+        this.filename = filename;
+        this.contentType = contentType;
+        this.data = data;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new ByteArrayInputStream(data, offset, length);
+    }
+
+    @Override
+    public byte[] getBytes() {
+        return Arrays.copyOfRange(data, offset, offset + length);
+    }
+
+    @Override
+    public ByteBuffer getByteBuffer() {
+        return ByteBuffer.wrap(data, offset, length).slice().asReadOnlyBuffer();
+    }
+
+    @Override
+    public Optional<MediaType> getContentType() {
+        return Optional.ofNullable(contentType);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public long getSize() {
+        return length;
+    }
+
+    @Override
+    public long getDefinedSize() {
+        return length;
+    }
+
+    @Override
+    public boolean isComplete() {
+        return true;
+    }
+
+    /**
+     * @param defaultCharset The charset to use if the part does not declare one
+     * @return The content of the part as a string
+     */
+    @NonNull
+    String getText(@NonNull Charset defaultCharset) {
+        Charset charset = contentType != null ? contentType.getCharset().orElse(defaultCharset) : defaultCharset;
+        return new String(data, offset, length, charset);
+    }
+}
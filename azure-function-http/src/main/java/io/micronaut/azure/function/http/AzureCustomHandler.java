@@ -0,0 +1,308 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function.http;
+
+import com.microsoft.azure.functions.ExecutionContext;
+import com.microsoft.azure.functions.HttpResponseMessage;
+import com.microsoft.azure.functions.TraceContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.MediaType;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.scheduling.TaskExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Runs an {@link AzureHttpFunction} as an Azure Functions
+ * <a href="https://learn.microsoft.com/azure/azure-functions/functions-custom-handlers">custom handler</a>. The
+ * Functions host posts each invocation as a JSON payload to a local HTTP server; the HTTP trigger data of the payload
+ * is routed through the function like a request received by the Java worker, and the response is returned as the HTTP
+ * output binding of the invocation.
+ *
+ * <p>The server is built on the JDK HTTP server and the payloads are read into maps. {@link #main(String[])} starts a
+ * handler on the port given by the host.</p>
+ *
+ * @since 5.8.0
+ */
+public final class AzureCustomHandler implements AutoCloseable {
+
+    /**
+     * The environment variable holding the port the Functions host sends invocations to.
+     */
+    public static final String PORT_ENVIRONMENT_VARIABLE = "FUNCTIONS_CUSTOMHANDLER_PORT";
+
+    /**
+     * The default name of the HTTP output binding.
+     */
+    public static final String DEFAULT_OUTPUT_BINDING = "res";
+
+    /**
+     * The name of the output binding set from the return value of the invocation.
+     */
+    public static final String RETURN_BINDING = "$return";
+
+    private static final Logger LOG = LoggerFactory.getLogger(AzureCustomHandler.class);
+    private static final int DEFAULT_PORT = 8080;
+    private static final String INVOCATION_ID_HEADER = "X-Azure-Functions-InvocationId";
+    private static final Argument<Map<String, Object>> PAYLOAD = Argument.mapOf(String.class, Object.class);
+
+    private final AzureHttpFunction function;
+    private final String outputBinding;
+    private final JsonMapper jsonMapper;
+    private HttpServer server;
+
+    /**
+     * @param function The function handling the invocations
+     */
+    public AzureCustomHandler(@NonNull AzureHttpFunction function) {
+        this(function, DEFAULT_OUTPUT_BINDING);
+    }
+
+    /**
+     * @param function      The function handling the invocations
+     * @param outputBinding The name of the HTTP output binding declared in {@code function.json}
+     */
+    public AzureCustomHandler(@NonNull AzureHttpFunction function, @NonNull String outputBinding) {
+        this.function = function;
+        this.outputBinding = outputBinding;
+        this.jsonMapper = function.getApplicationContext().getBean(JsonMapper.class);
+    }
+
+    /**
+     * Starts a custom handler for the controllers of the application on the port given by the Functions host.
+     *
+     * @param args The arguments, ignored
+     * @throws IOException if the server cannot be started
+     */
+    public static void main(String[] args) throws IOException {
+        AzureHttpFunction function = new AzureHttpFunction(AzureHttpFunction.eagerControllersApplicationContextBuilder());
+        AzureCustomHandler handler = new AzureCustomHandler(function);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            handler.close();
+            function.close();
+        }));
+        String port = System.getenv(PORT_ENVIRONMENT_VARIABLE);
+        handler.start(port != null ? Integer.parseInt(port) : DEFAULT_PORT);
+    }
+
+    /**
+     * Starts listening for invocations on the loopback address. Invocations are handled on the
+     * {@link TaskExecutors#BLOCKING} executor.
+     *
+     * @param port The port, or {@code 0} for any free port
+     * @throws IOException if the server cannot be started
+     */
+    public synchronized void start(int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("The custom handler is already started");
+        }
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        httpServer.setExecutor(function.getApplicationContext().getBean(ExecutorService.class, Qualifiers.byName(TaskExecutors.BLOCKING)));
+        httpServer.createContext("/", this::handle);
+        httpServer.start();
+        server = httpServer;
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Azure custom handler listening on port {}", getPort());
+        }
+    }
+
+    /**
+     * @return The port the handler listens on
+     */
+    public synchronized int getPort() {
+        if (server == null) {
+            throw new IllegalStateException("The custom handler is not started");
+        }
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops listening for invocations. The function is not closed.
+     */
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Map<String, Object> invocation = jsonMapper.readValue(exchange.getRequestBody().readAllBytes(), PAYLOAD);
+            CustomHandlerRequestMessage request = httpTrigger(invocation);
+            if (request == null) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            String functionName = exchange.getRequestURI().getPath().substring(1);
+            String invocationId = exchange.getRequestHeaders().getFirst(INVOCATION_ID_HEADER);
+            HttpResponseMessage response = function.route(request, new CustomHandlerExecutionContext(functionName, invocationId));
+            byte[] json = jsonMapper.writeValueAsBytes(invocationResult(response));
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+            exchange.sendResponseHeaders(200, json.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(json);
+            }
+        } catch (Exception e) {
+            LOG.error("Failed to handle the invocation of {}", exchange.getRequestURI(), e);
+            // the status cannot be changed once the headers have been sent
+            if (exchange.getResponseCode() == -1) {
+                exchange.sendResponseHeaders(500, -1);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Nullable
+    private CustomHandlerRequestMessage httpTrigger(Map<String, Object> invocation) throws IOException {
+        if (invocation.get("Data") instanceof Map<?, ?> data) {
+            for (Object binding : data.values()) {
+                if (CustomHandlerRequestMessage.isHttpTrigger(binding)) {
+                    Map<?, ?> trigger = (Map<?, ?>) binding;
+                    Object body = trigger.get(CustomHandlerRequestMessage.BODY);
+                    // the host passes JSON bodies already parsed
+                    String text = body == null || body instanceof String ? (String) body : jsonMapper.writeValueAsString(body);
+                    return new CustomHandlerRequestMessage(trigger, text);
+                }
+            }
+        }
+        return null;
+    }
+
+    private Map<String, Object> invocationResult(HttpResponseMessage response) {
+        Map<String, Object> http = new LinkedHashMap<>(4);
+        http.put("statusCode", response.getStatus().value());
+        Charset charset = StandardCharsets.UTF_8;
+        if (response instanceof ResponseBuilder headers) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String name : headers.names()) {
+                List<String> all = headers.getAll(name);
+                // values such as Set-Cookie cannot be joined, so multi-valued headers are sent as arrays
+                values.put(name, all.size() == 1 ? all.get(0) : all);
+                if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) && !all.isEmpty()) {
+                    charset = charset(all.get(0), charset);
+                }
+            }
+            http.put("headers", values);
+        }
+        Object body = response.getBody();
+        if (body instanceof byte[] bytes) {
+            http.put("body", decode(bytes, charset));
+        } else if (body != null) {
+            http.put("body", body.toString());
+        }
+        Map<String, Object> result = new LinkedHashMap<>(3);
+        if (RETURN_BINDING.equals(outputBinding)) {
+            result.put("Outputs", Collections.emptyMap());
+            result.put("ReturnValue", http);
+        } else {
+            result.put("Outputs", Collections.singletonMap(outputBinding, http));
+        }
+        result.put("Logs", List.of());
+        return result;
+    }
+
+    private static Charset charset(String contentType, Charset defaultCharset) {
+        try {
+            return MediaType.of(contentType).getCharset().orElse(defaultCharset);
+        } catch (IllegalArgumentException e) {
+            return defaultCharset;
+        }
+    }
+
+    /**
+     * The custom handler payload carries the body as text, so a body that is not valid text in its charset, such as
+     * an image, cannot be returned without being corrupted.
+     */
+    private static String decode(byte[] bytes, Charset charset) {
+        try {
+            return charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT)
+                .decode(ByteBuffer.wrap(bytes))
+                .toString();
+        } catch (CharacterCodingException e) {
+            throw new IllegalStateException("The response body is not valid " + charset + " text: binary bodies are not supported by custom handlers", e);
+        }
+    }
+
+    /**
+     * The execution context of a custom handler invocation.
+     *
+     * @param functionName The function name
+     * @param invocationId The invocation ID
+     */
+    private record CustomHandlerExecutionContext(String functionName, String invocationId) implements ExecutionContext, TraceContext {
+
+        @Override
+        public java.util.logging.Logger getLogger() {
+            return java.util.logging.Logger.getLogger(functionName);
+        }
+
+        @Override
+        public String getInvocationId() {
+            return invocationId != null ? invocationId : functionName;
+        }
+
+        @Override
+        public String getFunctionName() {
+            return functionName;
+        }
+
+        @Override
+        public TraceContext getTraceContext() {
+            return this;
+        }
+
+        @Override
+        public String getTraceparent() {
+            return null;
+        }
+
+        @Override
+        public String getTracestate() {
+            return null;
+        }
+
+        @Override
+        public Map<String, String> getAttributes() {
+            return Collections.emptyMap();
+        }
+    }
+}
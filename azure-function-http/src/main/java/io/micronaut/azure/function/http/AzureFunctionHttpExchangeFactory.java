@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function.http;
+
+import com.microsoft.azure.functions.ExecutionContext;
+import com.microsoft.azure.functions.HttpRequestMessage;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.function.BinaryTypeConfiguration;
+import io.micronaut.servlet.http.BodyBuilder;
+import jakarta.inject.Singleton;
+
+import java.util.Optional;
+
+/**
+ * Creates the {@link AzureFunctionHttpRequest} and {@link AzureFunctionHttpResponse} pair for an invocation.
+ * The collaborators are resolved once when the bean is created, so building an exchange does not perform any
+ * bean lookups.
+ *
+ * @since 5.8.0
+ */
+@Internal
+@Singleton
+public final class AzureFunctionHttpExchangeFactory {
+
+    private final ConversionService conversionService;
+    private final BinaryTypeConfiguration binaryTypeConfiguration;
+    private final BodyBuilder bodyBuilder;
+    private final boolean textResponsesAsBytes;
+
+    /**
+     * @param conversionService The conversion service
+     * @param binaryTypeConfiguration The binary type configuration
+     * @param bodyBuilder The body builder
+     * @param configuration The HTTP function configuration
+     */
+    AzureFunctionHttpExchangeFactory(
+        ConversionService conversionService,
+        BinaryTypeConfiguration binaryTypeConfiguration,
+        BodyBuilder bodyBuilder,
+        AzureHttpFunctionConfigurationProperties configuration
+    ) {
+        this.conversionService = conversionService;
+        this.binaryTypeConfiguration = binaryTypeConfiguration;
+        this.bodyBuilder = bodyBuilder;
+        this.textResponsesAsBytes = configuration.isTextResponsesAsBytes();
+    }
+
+    /**
+     * Creates the exchange for the given Azure request.
+     *
+     * @param request The Azure request
+     * @param executionContext The execution context
+     * @return The request, which is also the exchange
+     */
+    @NonNull
+    public AzureFunctionHttpRequest<Object> create(
+        @NonNull HttpRequestMessage<Optional<String>> request,
+        @NonNull ExecutionContext executionContext
+    ) {
+        return new AzureFunctionHttpRequest<>(
+            request,
+            new AzureFunctionHttpResponse<>(
+                request,
+                conversionService,
+                binaryTypeConfiguration,
+                textResponsesAsBytes
+            ),
+            executionContext,
+            conversionService,
+            binaryTypeConfiguration,
+            bodyBuilder
+        );
+    }
+
+    /**
+     * Creates the exchange for an Azure request received by an HTTP trigger with {@code dataType = "binary"}. The
+     * body bytes are used as is, without Base64 or charset decoding.
+     *
+     * @param request The Azure request
+     * @param executionContext The execution context
+     * @return The request, which is also the exchange
+     */
+    @NonNull
+    public AzureFunctionHttpRequest<Object> createBinary(
+        @NonNull HttpRequestMessage<Optional<byte[]>> request,
+        @NonNull ExecutionContext executionContext
+    ) {
+        return create(new BinaryHttpRequestMessage(request), executionContext);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function.http;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.convert.ArgumentConversionContext;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.MutableHttpHeaders;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link MutableHttpHeaders} view over the headers of an Azure request. Header values are split into their comma
+ * separated elements on first access only, and the split values are cached for the lifetime of the request. The
+ * headers are indexed by lower case name in a concurrent map, so they can be read from several threads.
+ *
+ * @since 5.8.0
+ */
+@Internal
+final class AzureFunctionHttpHeaders implements MutableHttpHeaders {
+
+    private final ConversionService conversionService;
+    private final Map<String, Header> headers;
+    private volatile Set<String> names;
+
+    /**
+     * @param nativeHeaders The headers of the Azure request
+     * @param conversionService The conversion service
+     */
+    AzureFunctionHttpHeaders(@Nullable Map<String, String> nativeHeaders, ConversionService conversionService) {
+        this.conversionService = conversionService;
+        if (nativeHeaders == null || nativeHeaders.isEmpty()) {
+            headers = new ConcurrentHashMap<>();
+        } else {
+            headers = new ConcurrentHashMap<>(nativeHeaders.size());
+            for (Map.Entry<String, String> entry : nativeHeaders.entrySet()) {
+                if (entry.getValue() != null) {
+                    headers.putIfAbsent(key(entry.getKey()), new Header(entry.getKey(), entry.getValue()));
+                }
+            }
+        }
+    }
+
+    @Override
+    public MutableHttpHeaders add(CharSequence header, CharSequence value) {
+        String name = header.toString();
+        String added = value.toString();
+        headers.compute(key(name), (key, current) -> current == null ? new Header(name, List.of(added)) : current.with(added));
+        names = null;
+        return this;
+    }
+
+    @Override
+    public MutableHttpHeaders remove(CharSequence header) {
+        headers.remove(key(header.toString()));
+        names = null;
+        return this;
+    }
+
+    @Override
+    public <T> Optional<T> get(CharSequence name, ArgumentConversionContext<T> conversionContext) {
+        List<String> all = getAll(name);
+        if (all.isEmpty()) {
+            return Optional.empty();
+        }
+        Argument<T> argument = conversionContext.getArgument();
+        if (all.size() > 1 || Iterable.class.isAssignableFrom(argument.getType()) || argument.getType().isArray()) {
+            return conversionService.convert(all, conversionContext);
+        }
+        return conversionService.convert(all.get(0), conversionContext);
+    }
+
+    @Override
+    public List<String> getAll(CharSequence name) {
+        Header header = headers.get(key(name.toString()));
+        return header == null ? Collections.emptyList() : header.values();
+    }
+
+    @Override
+    @Nullable
+    public String get(CharSequence name) {
+        List<String> all = getAll(name);
+        return all.isEmpty() ? null : all.get(0);
+    }
+
+    @Override
+    public Set<String> names() {
+        Set<String> localNames = names;
+        if (localNames == null) {
+            localNames = new LinkedHashSet<>();
+            for (Header header : headers.values()) {
+                localNames.add(header.name);
+            }
+            localNames = Collections.unmodifiableSet(localNames);
+            names = localNames;
+        }
+        return localNames;
+    }
+
+    @Override
+    public Collection<List<String>> values() {
+        List<List<String>> result = new ArrayList<>(headers.size());
+        for (Header header : headers.values()) {
+            result.add(header.values());
+        }
+        return result;
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * A header whose native value is split on first access. Splitting is idempotent and the split values are
+     * immutable, so concurrent first accesses at worst split the value twice.
+     */
+    private static final class Header {
+
+        private final String name;
+        @Nullable
+        private final String nativeValue;
+        private volatile List<String> values;
+
+        Header(String name, String nativeValue) {
+            this.name = name;
+            this.nativeValue = nativeValue;
+        }
+
+        Header(String name, List<String> values) {
+            this.name = name;
+            this.nativeValue = null;
+            this.values = values;
+        }
+
+        List<String> values() {
+            List<String> localValues = values;
+            if (localValues == null) {
+                localValues = CommaSeparatedValues.splitHeader(name, nativeValue);
+                values = localValues;
+            }
+            return localValues;
+        }
+
+        Header with(String value) {
+            List<String> current = values();
+            List<String> updated = new ArrayList<>(current.size() + 1);
+            updated.addAll(current);
+            updated.add(value);
+            return new Header(name, Collections.unmodifiableList(updated));
+        }
+    }
+}
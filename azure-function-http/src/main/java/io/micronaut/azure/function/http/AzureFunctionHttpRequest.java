@@ -31,7 +31,6 @@ import io.micronaut.core.util.ArrayUtils;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.core.util.SupplierUtil;
 import io.micronaut.function.BinaryTypeConfiguration;
-import io.micronaut.http.CaseInsensitiveMutableHttpHeaders;
 import io.micronaut.http.FullHttpRequest;
 import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpMethod;
@@ -43,6 +42,7 @@ import io.micronaut.http.ServerHttpRequest;
 import io.micronaut.http.body.AvailableByteBody;
 import io.micronaut.http.cookie.Cookie;
 import io.micronaut.http.cookie.Cookies;
+import io.micronaut.http.multipart.CompletedFileUpload;
 import io.micronaut.http.simple.SimpleHttpParameters;
 import io.micronaut.servlet.http.BodyBuilder;
 import io.micronaut.servlet.http.MutableServletHttpRequest;
@@ -66,6 +66,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 
@@ -92,11 +93,16 @@ public final class AzureFunctionHttpRequest<T> implements
     private final AzureFunctionHttpResponse<Object> response;
     private URI uri;
     private final HttpMethod httpMethod;
+    private MutableHttpHeaders headers;
+    private MutableHttpParameters parameters;
+    private List<AzureCompletedFileUpload> parts;
     private Cookies cookies;
     private MutableConvertibleValues<Object> attributes;
     private Supplier<Optional<T>> body;
+    private byte[] bodyBytes;
     private T parsedBody;
     private T overriddenBody;
+    private CompletableFuture<Void> asyncCompletion;
 
     public AzureFunctionHttpRequest(
         HttpRequestMessage<Optional<String>> request,
@@ -123,22 +129,80 @@ public final class AzureFunctionHttpRequest<T> implements
         return executionContext;
     }
 
-    public byte[] getBodyBytes() throws IOException {
-        if (requestEvent.getBody().isPresent()) {
-            return getBodyBytes(requestEvent.getBody()::get, () -> binaryTypeConfiguration.isMediaTypeBinary(requestEvent.getHeaders().get(HttpHeaders.CONTENT_TYPE)));
-        } else {
-            return ArrayUtils.EMPTY_BYTE_ARRAY;
+    /**
+     * Lets the {@link io.micronaut.servlet.http.ServletHttpHandler} process this request asynchronously. The
+     * handler then returns as soon as the route suspends and the returned future completes once the response has
+     * been written.
+     *
+     * @return A future completed once the response has been written
+     * @since 5.8.0
+     */
+    @NonNull
+    CompletableFuture<Void> enableAsync() {
+        CompletableFuture<Void> localAsyncCompletion = this.asyncCompletion;
+        if (localAsyncCompletion == null) {
+            localAsyncCompletion = new CompletableFuture<>();
+            this.asyncCompletion = localAsyncCompletion;
         }
+        return localAsyncCompletion;
     }
 
     @Override
-    public @NonNull AvailableByteBody byteBody() {
+    public boolean isAsyncSupported() {
+        return asyncCompletion != null;
+    }
+
+    @Override
+    public void executeAsync(AsyncExecutionCallback asyncExecutionCallback) {
+        CompletableFuture<Void> localAsyncCompletion = this.asyncCompletion;
+        if (localAsyncCompletion == null) {
+            throw new UnsupportedOperationException("Asynchronous processing is not enabled for this request");
+        }
         try {
-            return new AvailableByteArrayBody(getBodyBytes());
-        } catch (IOException e) {
-            // empty body
-            return new AvailableByteArrayBody(ArrayUtils.EMPTY_BYTE_ARRAY);
+            asyncExecutionCallback.run(() -> localAsyncCompletion.complete(null));
+        } catch (RuntimeException | Error e) {
+            localAsyncCompletion.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * The body of the request, Base64 decoded or encoded with the request charset. Requests received by a binary
+     * trigger are used as is. The body is decoded once per request and the same array is returned on every call, so
+     * it must not be modified.
+     *
+     * @return The body bytes, empty if the request has no body or an empty one
+     * @throws IOException never, declared for compatibility
+     */
+    public byte[] getBodyBytes() throws IOException {
+        return decodedBody();
+    }
+
+    private byte[] decodedBody() {
+        byte[] localBodyBytes = this.bodyBytes;
+        if (localBodyBytes == null) {
+            synchronized (this) { // double check
+                localBodyBytes = this.bodyBytes;
+                if (localBodyBytes == null) {
+                    if (requestEvent instanceof BinaryHttpRequestMessage binaryRequest) {
+                        byte[] binaryBody = binaryRequest.getBinaryBody();
+                        localBodyBytes = binaryBody != null ? binaryBody : ArrayUtils.EMPTY_BYTE_ARRAY;
+                    } else if (requestEvent.getBody().isPresent()) {
+                        localBodyBytes = getBodyBytes(requestEvent.getBody()::get, () -> binaryTypeConfiguration.isMediaTypeBinary(requestEvent.getHeaders().get(HttpHeaders.CONTENT_TYPE)));
+                    } else {
+                        localBodyBytes = ArrayUtils.EMPTY_BYTE_ARRAY;
+                    }
+                    this.bodyBytes = localBodyBytes;
+                }
+            }
         }
+        return localBodyBytes;
+    }
+
+    @Override
+    public @NonNull AvailableByteBody byteBody() {
+        // the body wraps the cached bytes, so every call shares the single decoded copy
+        return new AvailableByteArrayBody(decodedBody());
     }
 
     private static HttpMethod parseMethod(Supplier<String> httpMethodConsumer) {
@@ -151,27 +215,114 @@ public final class AzureFunctionHttpRequest<T> implements
 
     @Override
     public MutableHttpHeaders getHeaders() {
-        Map<String, List<String>> headersMap = transformCommaSeparatedValue(requestEvent.getHeaders());
-        return new CaseInsensitiveMutableHttpHeaders(headersMap, conversionService);
+        MutableHttpHeaders localHeaders = this.headers;
+        if (localHeaders == null) {
+            synchronized (this) { // double check
+                localHeaders = this.headers;
+                if (localHeaders == null) {
+                    localHeaders = new AzureFunctionHttpHeaders(requestEvent.getHeaders(), conversionService);
+                    this.headers = localHeaders;
+                }
+            }
+        }
+        return localHeaders;
     }
 
     @Override
     public MutableHttpParameters getParameters() {
+        MutableHttpParameters localParameters = this.parameters;
+        if (localParameters == null) {
+            synchronized (this) { // double check
+                localParameters = this.parameters;
+                if (localParameters == null) {
+                    localParameters = new SimpleHttpParameters(decodeParameters(), conversionService);
+                    this.parameters = localParameters;
+                }
+            }
+        }
+        return localParameters;
+    }
+
+    /**
+     * Decodes the query parameters and, for form submissions, the parameters in the body.
+     *
+     * @return The decoded parameters
+     */
+    private Map<CharSequence, List<String>> decodeParameters() {
         MediaType mediaType = getContentType().orElse(MediaType.APPLICATION_JSON_TYPE);
         Map<CharSequence, List<String>> values = new HashMap<>(transformCommaSeparatedValue(requestEvent.getQueryParameters()));
         if (isFormSubmission(mediaType)) {
-            Map<String, List<String>> parameters = null;
-            try {
-                parameters = new QueryStringDecoder(new String(getBodyBytes(), getCharacterEncoding()), false).parameters();
-            } catch (IOException ex) {
-                if (LOG.isErrorEnabled()) {
-                    LOG.error("Error decoding form data: " + ex.getMessage(), ex);
+            values.putAll(new QueryStringDecoder(getBodyText(), false).parameters());
+        } else if (isMultipartSubmission(mediaType)) {
+            for (AzureCompletedFileUpload part : multipartParts()) {
+                if (part.getFilename() == null) {
+                    List<String> partValues = new ArrayList<>(values.getOrDefault(part.getName(), Collections.emptyList()));
+                    partValues.add(part.getText(getCharacterEncoding()));
+                    values.put(part.getName(), partValues);
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * The parts of a {@code multipart/form-data} request. The parts are parsed on first access.
+     *
+     * @return The parts, empty if the request is not a multipart request
+     */
+    @NonNull
+    public List<? extends CompletedFileUpload> getParts() {
+        return multipartParts();
+    }
+
+    /**
+     * @param name The name of the part
+     * @return The first part with the given name
+     */
+    @NonNull
+    public Optional<CompletedFileUpload> getPart(@NonNull String name) {
+        for (CompletedFileUpload part : multipartParts()) {
+            if (part.getName().equals(name)) {
+                return Optional.of(part);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private List<AzureCompletedFileUpload> multipartParts() {
+        List<AzureCompletedFileUpload> localParts = this.parts;
+        if (localParts == null) {
+            synchronized (this) { // double check
+                localParts = this.parts;
+                if (localParts == null) {
+                    localParts = parseParts();
+                    this.parts = localParts;
                 }
-                parameters = new HashMap<>();
             }
-            values.putAll(parameters);
         }
-        return new SimpleHttpParameters(values, conversionService);
+        return localParts;
+    }
+
+    private List<AzureCompletedFileUpload> parseParts() {
+        MediaType mediaType = getContentType().orElse(null);
+        if (mediaType == null || !isMultipartSubmission(mediaType)) {
+            return Collections.emptyList();
+        }
+        String boundary = MultipartFormDataParser.boundary(mediaType);
+        if (StringUtils.isEmpty(boundary)) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error("Error decoding multipart data: missing boundary");
+            }
+            return Collections.emptyList();
+        }
+        try {
+            return new MultipartFormDataParser(getBodyBytes(), boundary).parse();
+        } catch (IOException ex) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error("Error decoding multipart data: " + ex.getMessage(), ex);
+            }
+            return Collections.emptyList();
+        }
     }
 
     @Override
@@ -259,10 +410,19 @@ public final class AzureFunctionHttpRequest<T> implements
     /**
      *
      * @param contentType Content Type
-     * @return returns true if the content type is either application/x-www-form-urlencoded or multipart/form-data
+     * @return returns true if the content type is application/x-www-form-urlencoded
      */
     private boolean isFormSubmission(MediaType contentType) {
-        return MediaType.APPLICATION_FORM_URLENCODED_TYPE.equals(contentType) || MediaType.MULTIPART_FORM_DATA_TYPE.equals(contentType);
+        return MediaType.APPLICATION_FORM_URLENCODED_TYPE.equals(contentType);
+    }
+
+    /**
+     *
+     * @param contentType Content Type
+     * @return returns true if the content type is multipart/form-data
+     */
+    private boolean isMultipartSubmission(MediaType contentType) {
+        return MediaType.MULTIPART_FORM_DATA_TYPE.equals(contentType);
     }
 
     @Override
@@ -303,35 +463,37 @@ public final class AzureFunctionHttpRequest<T> implements
         return ExecutionFlow.just(contents());
     }
 
+    /**
+     * The body as text, avoiding a round trip through bytes when the body was not Base64 encoded.
+     *
+     * @return The body text, empty if the request has no body
+     */
+    private String getBodyText() {
+        if (requestEvent instanceof BinaryHttpRequestMessage) {
+            return new String(decodedBody(), getCharacterEncoding());
+        }
+        String requestBody = requestEvent.getBody().orElse(null);
+        if (StringUtils.isNotEmpty(requestBody) && !binaryTypeConfiguration.isMediaTypeBinary(requestEvent.getHeaders().get(HttpHeaders.CONTENT_TYPE))) {
+            return requestBody;
+        }
+        return new String(decodedBody(), getCharacterEncoding());
+    }
+
     /**
      *
      * @param bodySupplier HTTP Request's Body Supplier
      * @param base64EncodedSupplier Whether the body is Base 64 encoded
-     * @return body bytes
-     * @throws IOException if the body is empty
+     * @return body bytes, empty if the body is empty
      */
-    private byte[] getBodyBytes(@NonNull Supplier<String> bodySupplier, @NonNull BooleanSupplier base64EncodedSupplier) throws IOException {
+    private byte[] getBodyBytes(@NonNull Supplier<String> bodySupplier, @NonNull BooleanSupplier base64EncodedSupplier) {
         String requestBody = bodySupplier.get();
         if (StringUtils.isEmpty(requestBody)) {
-            throw new IOException("Empty Body");
+            return ArrayUtils.EMPTY_BYTE_ARRAY;
         }
         return base64EncodedSupplier.getAsBoolean() ?
             Base64.getDecoder().decode(requestBody) : requestBody.getBytes(getCharacterEncoding());
     }
 
-    @NonNull
-    private static List<String> splitCommaSeparatedValue(@Nullable String value) {
-        if (value == null) {
-            return Collections.emptyList();
-        }
-        String[] arr = value.split(",");
-        List<String> result = new ArrayList<>();
-        for (String str : arr) {
-            result.add(str.trim());
-        }
-        return result;
-    }
-
     @NonNull
     private static Map<String, List<String>> transformCommaSeparatedValue(@Nullable Map<String, String> input) {
         if (input == null) {
@@ -339,7 +501,8 @@ public final class AzureFunctionHttpRequest<T> implements
         }
         Map<String, List<String>> output = new HashMap<>();
         for (var entry: input.entrySet()) {
-            output.put(entry.getKey(), splitCommaSeparatedValue(entry.getValue()));
+            // SimpleHttpParameters appends to the existing list of a parameter, so the lists must stay mutable
+            output.put(entry.getKey(), new ArrayList<>(CommaSeparatedValues.split(entry.getValue())));
         }
         return output;
     }
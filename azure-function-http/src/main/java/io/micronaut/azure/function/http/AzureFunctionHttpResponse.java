@@ -22,11 +22,11 @@ import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.convert.value.MutableConvertibleValues;
 import io.micronaut.core.convert.value.MutableConvertibleValuesMap;
-import io.micronaut.core.util.StringUtils;
 import io.micronaut.function.BinaryTypeConfiguration;
 import io.micronaut.http.CaseInsensitiveMutableHttpHeaders;
 import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.MutableHttpHeaders;
 import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.cookie.Cookie;
@@ -36,9 +36,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedWriter;
-import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 /**
@@ -53,11 +54,12 @@ public final class AzureFunctionHttpResponse<B> implements ServletHttpResponse<H
 
     private static final Logger LOG = LoggerFactory.getLogger(AzureFunctionHttpResponse.class);
 
-    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private final ResponseBodyBuffer body;
     private int status = HttpStatus.OK.getCode();
     private final HttpRequestMessage<Optional<String>> azureRequest;
     private  final MutableHttpHeaders headers;
     private final BinaryTypeConfiguration binaryTypeConfiguration;
+    private final boolean textAsBytes;
     private MutableConvertibleValues<Object> attributes;
     private B bodyObject;
     private String reason = HttpStatus.OK.getReason();
@@ -66,10 +68,28 @@ public final class AzureFunctionHttpResponse<B> implements ServletHttpResponse<H
         HttpRequestMessage<Optional<String>> azureRequest,
         ConversionService conversionService,
         BinaryTypeConfiguration binaryTypeConfiguration
+    ) {
+        this(azureRequest, conversionService, binaryTypeConfiguration, false);
+    }
+
+    /**
+     * @param azureRequest The Azure request
+     * @param conversionService The conversion service
+     * @param binaryTypeConfiguration The binary type configuration
+     * @param textAsBytes Whether the bodies of text responses are passed to the Azure response as bytes
+     * @since 5.8.0
+     */
+    public AzureFunctionHttpResponse(
+        HttpRequestMessage<Optional<String>> azureRequest,
+        ConversionService conversionService,
+        BinaryTypeConfiguration binaryTypeConfiguration,
+        boolean textAsBytes
     ) {
         this.azureRequest = azureRequest;
         this.headers = new CaseInsensitiveMutableHttpHeaders(conversionService);
         this.binaryTypeConfiguration = binaryTypeConfiguration;
+        this.textAsBytes = textAsBytes;
+        this.body = new ResponseBodyBuffer(headers::contentLength);
     }
 
     @Override
@@ -152,19 +172,40 @@ public final class AzureFunctionHttpResponse<B> implements ServletHttpResponse<H
         HttpResponseMessage.Builder responseBuilder = azureRequest.createResponseBuilder(
             com.microsoft.azure.functions.HttpStatus.valueOf(status)
         );
+        boolean binary = binaryTypeConfiguration.isMediaTypeBinary(getHeaders().getContentType().orElse(null));
+        if (!binary && textAsBytes && body.size() > 0) {
+            declareCharset();
+        }
         getHeaders().forEach((s, strings) -> {
             for (String string : strings) {
                 responseBuilder.header(s, string);
             }
         });
-        if (binaryTypeConfiguration.isMediaTypeBinary(getHeaders().getContentType().orElse(null))) {
+        if (binary) {
             responseBuilder.body(body.toByteArray());
-        } else {
-            String bodyStr = body.toString(getCharacterEncoding());
-            if (StringUtils.isNotEmpty(bodyStr)) {
-                responseBuilder.body(bodyStr);
+        } else if (body.size() > 0) {
+            if (textAsBytes) {
+                responseBuilder.body(body.toByteArray());
+            } else {
+                responseBuilder.body(new String(body.toByteArray(), getCharacterEncoding()));
             }
         }
         return responseBuilder.build();
     }
+
+    /**
+     * The Functions worker encodes {@link String} bodies as UTF-8 but sends bytes as is, so the charset used to
+     * encode the body is added to the content type when it does not declare one and is not UTF-8.
+     */
+    private void declareCharset() {
+        Charset charset = getCharacterEncoding();
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return;
+        }
+        getHeaders().contentType().ifPresent(contentType -> {
+            if (contentType.getCharset().isEmpty()) {
+                getHeaders().set(HttpHeaders.CONTENT_TYPE, contentType + ";" + MediaType.CHARSET_PARAMETER + "=" + charset.name());
+            }
+        });
+    }
 }
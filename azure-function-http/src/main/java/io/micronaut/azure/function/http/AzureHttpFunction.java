@@ -21,15 +21,21 @@ import com.microsoft.azure.functions.HttpRequestMessage;
 import com.microsoft.azure.functions.HttpResponseMessage;
 import io.micronaut.azure.function.AzureFunction;
 import io.micronaut.context.ApplicationContextBuilder;
-import io.micronaut.core.convert.ConversionService;
-import io.micronaut.function.BinaryTypeConfiguration;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.core.annotation.NonNull;
 import io.micronaut.http.HttpHeaders;
-import io.micronaut.servlet.http.BodyBuilder;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.context.event.HttpRequestTerminatedEvent;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import io.micronaut.scheduling.TaskExecutors;
 import io.micronaut.servlet.http.ServletExchange;
 import io.micronaut.servlet.http.ServletHttpHandler;
 
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 /**
  * This class can be used as a base class for Azure HTTP functions that wish to route requests
@@ -59,6 +65,13 @@ public class AzureHttpFunction extends AzureFunction {
 
     protected ServletHttpHandler<HttpRequestMessage<Optional<String>>, HttpResponseMessage> httpHandler;
 
+    private final AzureFunctionHttpExchangeFactory exchangeFactory;
+    private final ApplicationEventPublisher<HttpRequestTerminatedEvent> requestTerminatedEventPublisher;
+    private final boolean destroyAfterRequest;
+    private final InvocationDispatcher invocationDispatcher;
+    private final AzureHttpFunctionConfigurationProperties.WarmupConfigurationProperties warmupConfiguration;
+    private volatile boolean warmingUp;
+
     /**
      * Default constructor.
      */
@@ -71,16 +84,42 @@ public class AzureHttpFunction extends AzureFunction {
      * @param applicationContextBuilder ApplicationContext Builder;
      */
     public AzureHttpFunction(ApplicationContextBuilder applicationContextBuilder) {
-        super(applicationContextBuilder);
+        super(applicationContextBuilder, false);
         if (LOG.isTraceEnabled()) {
             LOG.trace("Initializing AzureHttpFunction");
         }
         httpHandler = new HttpHandler(getApplicationContext());
+        getStartupTimeline().mark("http-handler");
+        exchangeFactory = getApplicationContext().getBean(AzureFunctionHttpExchangeFactory.class);
+        requestTerminatedEventPublisher = getApplicationContext().getEventPublisher(HttpRequestTerminatedEvent.class);
+        AzureHttpFunctionConfigurationProperties configuration = getApplicationContext().getBean(AzureHttpFunctionConfigurationProperties.class);
+        destroyAfterRequest = configuration.getRequestLifecycle() == AzureHttpFunctionConfigurationProperties.RequestLifecycle.FUNCTION;
+        invocationDispatcher = configuration.isVirtualThreads() ? createInvocationDispatcher(configuration) : null;
         registerHttpHandlerShutDownHook();
 
         if (!getApplicationContext().containsBean(AzureHttpFunction.class)) {
             getApplicationContext().registerSingleton(AzureHttpFunction.class, this);
         }
+        getStartupTimeline().mark("routing");
+        warmupConfiguration = getApplicationContext().getBean(AzureHttpFunctionConfigurationProperties.WarmupConfigurationProperties.class);
+        if (warmupConfiguration.isOnStartup()) {
+            warmup();
+            getStartupTimeline().mark("warmup");
+        }
+        startupComplete();
+    }
+
+    /**
+     * Provides a builder for an ApplicationContext whose controllers, and the beans they depend on, are initialized
+     * while the function is created rather than by the first invocation. The other beans are initialized as with
+     * {@link #defaultApplicationContextBuilder()}.
+     *
+     * @return the builder
+     * @since 5.8.0
+     */
+    @NonNull
+    public static ApplicationContextBuilder eagerControllersApplicationContextBuilder() {
+        return defaultApplicationContextBuilder().eagerInitAnnotated(Controller.class);
     }
 
     /**
@@ -97,21 +136,72 @@ public class AzureHttpFunction extends AzureFunction {
         if (LOG.isTraceEnabled()) {
             LOG.trace("Route request: {}", request);
         }
+        return routeExchange(exchangeFactory.create(request, executionContext));
+    }
+
+    /**
+     * Entry point for Azure functions written in Micronaut that declare the HTTP trigger with
+     * {@code dataType = "binary"}. The body bytes are passed to the application as is, avoiding the Base64 round
+     * trip of {@link #route(HttpRequestMessage, ExecutionContext)} for binary content types.
+     *
+     * @param request The request
+     * @param executionContext The execution context
+     * @return The response message
+     * @since 5.8.0
+     */
+    public HttpResponseMessage routeBinary(
+        HttpRequestMessage<Optional<byte[]>> request,
+        ExecutionContext executionContext
+    ) {
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Route binary request: {}", request);
+        }
+        return routeExchange(exchangeFactory.createBinary(request, executionContext));
+    }
+
+    /**
+     * Asynchronous entry point for Azure functions written in Micronaut. The invoking thread only runs the route
+     * until it suspends, for example on a {@link CompletableFuture} or a {@code Publisher} returned by the controller,
+     * and the returned future completes once the response has been written. When
+     * {@link AzureHttpFunctionConfigurationProperties#isVirtualThreads() virtual threads} are enabled, the route runs
+     * on the {@link io.micronaut.scheduling.TaskExecutors#BLOCKING} executor instead.
+     *
+     * @param request The request
+     * @param executionContext The execution context
+     * @return A future of the response message
+     * @since 5.8.0
+     */
+    public CompletableFuture<HttpResponseMessage> routeAsync(
+        HttpRequestMessage<Optional<String>> request,
+        ExecutionContext executionContext
+    ) {
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Route request asynchronously: {}", request);
+        }
+        AzureFunctionHttpRequest<?> azureFunctionHttpRequest = exchangeFactory.create(request, executionContext);
+        if (invocationDispatcher != null) {
+            return invocationDispatcher.dispatch(() -> routeExchangeAsync(azureFunctionHttpRequest));
+        }
+        return routeExchangeAsync(azureFunctionHttpRequest);
+    }
+
+    private CompletableFuture<HttpResponseMessage> routeExchangeAsync(AzureFunctionHttpRequest<?> azureFunctionHttpRequest) {
+        CompletableFuture<Void> completion = azureFunctionHttpRequest.enableAsync();
         try {
-            AzureFunctionHttpRequest<?> azureFunctionHttpRequest =
-                new AzureFunctionHttpRequest<>(
-                    request,
-                    new AzureFunctionHttpResponse<>(
-                        request,
-                        httpHandler.getApplicationContext().getBean(ConversionService.class),
-                        httpHandler.getApplicationContext().getBean(BinaryTypeConfiguration.class)
-                    ),
-                    executionContext,
-                    httpHandler.getApplicationContext().getBean(ConversionService.class),
-                    httpHandler.getApplicationContext().getBean(BinaryTypeConfiguration.class),
-                    httpHandler.getApplicationContext().getBean(BodyBuilder.class)
-                );
+            httpHandler.exchange(azureFunctionHttpRequest);
+        } catch (RuntimeException | Error e) {
+            completion.completeExceptionally(e);
+        }
+        return completion
+            .thenApply(ignored -> {
+                this.updateResponseHeadersFunction(azureFunctionHttpRequest);
+                return azureFunctionHttpRequest.getResponse().getNativeResponse();
+            })
+            .whenComplete((response, throwable) -> requestComplete(azureFunctionHttpRequest));
+    }
 
+    private HttpResponseMessage routeExchange(AzureFunctionHttpRequest<?> azureFunctionHttpRequest) {
+        try {
             ServletExchange<HttpRequestMessage<Optional<String>>, HttpResponseMessage> exchange =
                 httpHandler.exchange(azureFunctionHttpRequest);
 
@@ -119,10 +209,61 @@ public class AzureHttpFunction extends AzureFunction {
 
             return exchange.getResponse().getNativeResponse();
         } finally {
+            requestComplete(azureFunctionHttpRequest);
+        }
+    }
+
+    private void requestComplete(AzureFunctionHttpRequest<?> azureFunctionHttpRequest) {
+        if (destroyAfterRequest && !warmingUp) {
             if (LOG.isTraceEnabled()) {
                 LOG.trace("Request complete, destroying request bean {}", this);
             }
             applicationContext.destroyBean(this);
+        } else {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Request complete, destroying request scoped beans of {}", azureFunctionHttpRequest.getNativeRequest());
+            }
+            requestTerminatedEventPublisher.publishEvent(new HttpRequestTerminatedEvent(azureFunctionHttpRequest));
+        }
+    }
+
+    /**
+     * Replays the configured warmup requests through {@link #route(HttpRequestMessage, ExecutionContext)} and
+     * discards their responses, so route matching, codecs and bean introspections are initialized before real
+     * traffic arrives. Functions can call this method from a warmup trigger. Warmup requests only destroy the beans
+     * bound to them, as with {@link AzureHttpFunctionConfigurationProperties.RequestLifecycle#REQUEST}, so the function
+     * bean is not destroyed by the warmup, even while the function is created.
+     *
+     * @since 5.8.0
+     */
+    public void warmup() {
+        warmingUp = true;
+        try {
+            replayWarmupRequests();
+        } finally {
+            warmingUp = false;
+        }
+    }
+
+    private void replayWarmupRequests() {
+        for (String warmupRequest : warmupConfiguration.getRequests()) {
+            String trimmed = warmupRequest.trim();
+            int separator = trimmed.indexOf(' ');
+            String method = separator < 0 ? HttpMethod.GET.name() : trimmed.substring(0, separator);
+            String uri = separator < 0 ? trimmed : trimmed.substring(separator + 1).trim();
+            try {
+                HttpResponseMessage response = route(
+                    request(HttpMethod.value(method.toUpperCase(Locale.ENGLISH)), uri).buildEncoded(),
+                    new DefaultExecutionContext()
+                );
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Warmup request {} {} completed with status {}", method, uri, response.getStatusCode());
+                }
+            } catch (RuntimeException e) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Warmup request " + warmupRequest + " failed: " + e.getMessage(), e);
+                }
+            }
         }
     }
 
@@ -148,6 +289,14 @@ public class AzureHttpFunction extends AzureFunction {
         return request(HttpMethod.value(method.name()), uri);
     }
 
+    private InvocationDispatcher createInvocationDispatcher(AzureHttpFunctionConfigurationProperties configuration) {
+        if (Runtime.version().feature() < 21 && LOG.isWarnEnabled()) {
+            LOG.warn("Virtual threads require Java 21 or above, invocations are dispatched to the {} executor instead", TaskExecutors.BLOCKING);
+        }
+        ExecutorService executor = getApplicationContext().getBean(ExecutorService.class, Qualifiers.byName(TaskExecutors.BLOCKING));
+        return new InvocationDispatcher(executor, configuration.getMaxConcurrentInvocations());
+    }
+
     private void registerHttpHandlerShutDownHook() {
         Runtime.getRuntime().addShutdownHook(new Thread(() -> httpHandler = null));
     }
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function.http;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.context.env.Environment;
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Configuration for {@link AzureHttpFunction}.
+ *
+ * @since 5.8.0
+ */
+@ConfigurationProperties(AzureHttpFunctionConfigurationProperties.PREFIX)
+public class AzureHttpFunctionConfigurationProperties {
+
+    /**
+     * Prefix.
+     */
+    public static final String PREFIX = Environment.AZURE + ".function.http";
+
+    /**
+     * The default maximum number of invocations dispatched to virtual threads at the same time.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_INVOCATIONS = 256;
+
+    private RequestLifecycle requestLifecycle = RequestLifecycle.REQUEST;
+    private boolean textResponsesAsBytes;
+    private boolean virtualThreads;
+    private int maxConcurrentInvocations = DEFAULT_MAX_CONCURRENT_INVOCATIONS;
+
+    /**
+     * @return the lifecycle applied at the end of each invocation
+     */
+    @NonNull
+    public RequestLifecycle getRequestLifecycle() {
+        return requestLifecycle;
+    }
+
+    /**
+     * Sets the lifecycle applied at the end of each invocation. Default value {@link RequestLifecycle#REQUEST}.
+     *
+     * @param requestLifecycle the lifecycle applied at the end of each invocation
+     */
+    public void setRequestLifecycle(@NonNull RequestLifecycle requestLifecycle) {
+        this.requestLifecycle = requestLifecycle;
+    }
+
+    /**
+     * @return whether the bodies of text responses are passed to the Azure response as bytes
+     */
+    public boolean isTextResponsesAsBytes() {
+        return textResponsesAsBytes;
+    }
+
+    /**
+     * Whether the bodies of text responses are passed to the Azure response as the bytes produced by the codec,
+     * instead of being decoded to a {@link String} that the Functions worker encodes again. The {@code Content-Type}
+     * of the response is completed with the charset used to encode the body when it does not declare one. Default
+     * value {@code false}.
+     *
+     * @param textResponsesAsBytes whether the bodies of text responses are passed as bytes
+     */
+    public void setTextResponsesAsBytes(boolean textResponsesAsBytes) {
+        this.textResponsesAsBytes = textResponsesAsBytes;
+    }
+
+    /**
+     * @return whether {@link AzureHttpFunction#routeAsync} dispatches invocations to the
+     * {@link io.micronaut.scheduling.TaskExecutors#BLOCKING} executor
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Whether each invocation of {@link AzureHttpFunction#routeAsync} is dispatched to the
+     * {@link io.micronaut.scheduling.TaskExecutors#BLOCKING} executor, which runs on virtual threads on Java 21 and
+     * above, instead of running on the thread of the Functions worker. {@link AzureHttpFunction#route} waits for the
+     * response on the worker thread anyway, so it always runs there. Default value {@code false}.
+     *
+     * @param virtualThreads whether invocations are dispatched to virtual threads
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * @return the maximum number of invocations dispatched to virtual threads at the same time
+     */
+    public int getMaxConcurrentInvocations() {
+        return maxConcurrentInvocations;
+    }
+
+    /**
+     * Sets the maximum number of invocations dispatched to virtual threads at the same time. Further invocations wait
+     * on the executor for a running one to complete, without blocking the calling thread. Default value
+     * {@value #DEFAULT_MAX_CONCURRENT_INVOCATIONS}.
+     *
+     * @param maxConcurrentInvocations the maximum number of concurrent invocations
+     */
+    public void setMaxConcurrentInvocations(int maxConcurrentInvocations) {
+        this.maxConcurrentInvocations = maxConcurrentInvocations;
+    }
+
+    /**
+     * What is torn down once {@link AzureHttpFunction#route} completes.
+     */
+    public enum RequestLifecycle {
+
+        /**
+         * Only the beans bound to the invocation, such as {@link io.micronaut.runtime.http.scope.RequestScope} beans, are destroyed.
+         * The function singleton stays registered.
+         */
+        REQUEST,
+
+        /**
+         * The function bean is destroyed after every invocation. This was the behaviour prior to 5.8.0. The requests
+         * replayed by {@link AzureHttpFunction#warmup()} do not destroy it.
+         */
+        FUNCTION
+    }
+
+    /**
+     * Configuration of the requests replayed by {@link AzureHttpFunction#warmup()}.
+     */
+    @ConfigurationProperties(WarmupConfigurationProperties.PREFIX)
+    public static class WarmupConfigurationProperties {
+
+        /**
+         * Prefix.
+         */
+        public static final String PREFIX = "warmup";
+
+        private boolean onStartup;
+        private List<String> requests = Collections.emptyList();
+
+        /**
+         * @return whether the warmup requests are replayed when the function is created
+         */
+        public boolean isOnStartup() {
+            return onStartup;
+        }
+
+        /**
+         * Whether the warmup requests are replayed when the function is created. Default value {@code false}.
+         *
+         * @param onStartup whether the warmup requests are replayed when the function is created
+         */
+        public void setOnStartup(boolean onStartup) {
+            this.onStartup = onStartup;
+        }
+
+        /**
+         * @return the warmup requests
+         */
+        @NonNull
+        public List<String> getRequests() {
+            return requests;
+        }
+
+        /**
+         * Sets the warmup requests, each one made of an HTTP method and a path, for example {@code GET /books?page=1}.
+         * When the method is omitted {@code GET} is used.
+         *
+         * @param requests the warmup requests
+         */
+        public void setRequests(@NonNull List<String> requests) {
+            this.requests = requests;
+        }
+    }
+}
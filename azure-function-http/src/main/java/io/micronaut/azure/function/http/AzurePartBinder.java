@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function.http;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.convert.ArgumentConversionContext;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.annotation.Part;
+import io.micronaut.http.bind.binders.RequestArgumentBinder;
+
+import java.util.Optional;
+
+/**
+ * Binds the parts of a {@code multipart/form-data} {@link AzureFunctionHttpRequest} to arguments annotated with
+ * {@link Part} or of type {@link io.micronaut.http.multipart.CompletedPart}.
+ *
+ * @since 5.8.0
+ */
+@Internal
+final class AzurePartBinder implements RequestArgumentBinder<Object> {
+
+    private final ConversionService conversionService;
+
+    /**
+     * @param conversionService The conversion service
+     */
+    AzurePartBinder(ConversionService conversionService) {
+        this.conversionService = conversionService;
+    }
+
+    @Override
+    public BindingResult<Object> bind(ArgumentConversionContext<Object> context, HttpRequest<?> source) {
+        if (!(source instanceof AzureFunctionHttpRequest<?> request)) {
+            return BindingResult.EMPTY;
+        }
+        Argument<Object> argument = context.getArgument();
+        String name = argument.getAnnotationMetadata().stringValue(Part.class).orElse(argument.getName());
+        AzureCompletedFileUpload part = (AzureCompletedFileUpload) request.getPart(name).orElse(null);
+        if (part == null) {
+            return BindingResult.EMPTY;
+        }
+        Class<?> type = argument.getType();
+        Optional<Object> value;
+        if (type.isInstance(part)) {
+            value = Optional.of(part);
+        } else if (type == byte[].class) {
+            value = Optional.of(part.getBytes());
+        } else {
+            String text = part.getText(request.getCharacterEncoding());
+            value = CharSequence.class.isAssignableFrom(type) ? Optional.of(text) : conversionService.convert(text, context);
+        }
+        return () -> value;
+    }
+}
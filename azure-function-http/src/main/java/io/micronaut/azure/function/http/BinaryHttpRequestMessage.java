@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function.http;
+
+import com.microsoft.azure.functions.HttpMethod;
+import com.microsoft.azure.functions.HttpRequestMessage;
+import com.microsoft.azure.functions.HttpResponseMessage;
+import com.microsoft.azure.functions.HttpStatus;
+import com.microsoft.azure.functions.HttpStatusType;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.MediaType;
+
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Adapts a request received by an HTTP trigger with {@code dataType = "binary"} to the
+ * {@code HttpRequestMessage<Optional<String>>} type handled by {@link AzureFunctionHttpRequest}. The request reads
+ * the body bytes directly from {@link #getBinaryBody()}, so they are never Base64 or charset encoded.
+ *
+ * @since 5.8.0
+ */
+@Internal
+final class BinaryHttpRequestMessage implements HttpRequestMessage<Optional<String>> {
+
+    private final HttpRequestMessage<Optional<byte[]>> delegate;
+
+    /**
+     * @param delegate The request received by the function
+     */
+    BinaryHttpRequestMessage(@NonNull HttpRequestMessage<Optional<byte[]>> delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return The request received by the function
+     */
+    @NonNull
+    HttpRequestMessage<Optional<byte[]>> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * @return The body bytes, if any
+     */
+    @Nullable
+    byte[] getBinaryBody() {
+        Optional<byte[]> body = delegate.getBody();
+        return body != null ? body.orElse(null) : null;
+    }
+
+    @Override
+    public URI getUri() {
+        return delegate.getUri();
+    }
+
+    @Override
+    public HttpMethod getHttpMethod() {
+        return delegate.getHttpMethod();
+    }
+
+    @Override
+    public Map<String, String> getHeaders() {
+        return delegate.getHeaders();
+    }
+
+    @Override
+    public Map<String, String> getQueryParameters() {
+        return delegate.getQueryParameters();
+    }
+
+    /**
+     * The body decoded with the charset of the request content type. Only provided for code that reads the
+     * {@link AzureFunctionHttpRequest#getNativeRequest() native request} directly.
+     *
+     * @return The body as text
+     */
+    @Override
+    public Optional<String> getBody() {
+        byte[] body = getBinaryBody();
+        return body == null ? Optional.empty() : Optional.of(new String(body, charset()));
+    }
+
+    @Override
+    public HttpResponseMessage.Builder createResponseBuilder(HttpStatus status) {
+        return delegate.createResponseBuilder(status);
+    }
+
+    @Override
+    public HttpResponseMessage.Builder createResponseBuilder(HttpStatusType status) {
+        return delegate.createResponseBuilder(status);
+    }
+
+    private Charset charset() {
+        Map<String, String> headers = delegate.getHeaders();
+        if (headers != null) {
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(header.getKey()) && header.getValue() != null) {
+                    try {
+                        return MediaType.of(header.getValue()).getCharset().orElse(StandardCharsets.UTF_8);
+                    } catch (IllegalArgumentException e) {
+                        // fall back to the default charset
+                    }
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+}
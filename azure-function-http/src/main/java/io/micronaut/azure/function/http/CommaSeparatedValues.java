@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function.http;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Splits the comma separated values the Azure Functions host uses to flatten repeated headers and query parameters.
+ *
+ * @since 5.8.0
+ */
+@Internal
+final class CommaSeparatedValues {
+
+    /**
+     * Fields which are not lists as defined by RFC 9110 and RFC 6265, and whose values may legitimately contain commas.
+     */
+    private static final Set<String> SINGLETON_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        Collections.addAll(SINGLETON_HEADERS,
+            HttpHeaders.AUTHORIZATION,
+            HttpHeaders.CONTENT_DISPOSITION,
+            HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.CONTENT_LOCATION,
+            HttpHeaders.CONTENT_RANGE,
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.COOKIE,
+            HttpHeaders.DATE,
+            HttpHeaders.ETAG,
+            HttpHeaders.EXPIRES,
+            HttpHeaders.HOST,
+            HttpHeaders.IF_MODIFIED_SINCE,
+            HttpHeaders.IF_RANGE,
+            HttpHeaders.IF_UNMODIFIED_SINCE,
+            HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.LOCATION,
+            HttpHeaders.ORIGIN,
+            HttpHeaders.PROXY_AUTHORIZATION,
+            HttpHeaders.RANGE,
+            HttpHeaders.REFERER,
+            HttpHeaders.RETRY_AFTER,
+            HttpHeaders.SET_COOKIE,
+            HttpHeaders.USER_AGENT,
+            HttpHeaders.WWW_AUTHENTICATE
+        );
+    }
+
+    private CommaSeparatedValues() {
+    }
+
+    /**
+     * Splits a header value. Values of singleton fields such as {@code Date} or {@code Set-Cookie} are never split,
+     * and commas within quoted strings (for example in {@code If-None-Match}) do not separate elements.
+     *
+     * @param name The header name
+     * @param value The header value
+     * @return The elements
+     */
+    @NonNull
+    static List<String> splitHeader(@NonNull String name, @Nullable String value) {
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        if (SINGLETON_HEADERS.contains(name)) {
+            return Collections.singletonList(value.trim());
+        }
+        return split(value, true);
+    }
+
+    /**
+     * Splits a value on every comma.
+     *
+     * @param value The value
+     * @return The elements
+     */
+    @NonNull
+    static List<String> split(@Nullable String value) {
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        return split(value, false);
+    }
+
+    /**
+     * Splits like {@link String#split(String)} with a comma, followed by a trim of each element: empty elements are
+     * kept, except those after the last comma that are empty before trimming.
+     */
+    @NonNull
+    private static List<String> split(@NonNull String value, boolean quoted) {
+        int comma = value.indexOf(',');
+        if (comma < 0) {
+            return Collections.singletonList(value.trim());
+        }
+        List<String> result = new ArrayList<>(4);
+        int kept = 0;
+        int length = value.length();
+        int start = 0;
+        boolean inQuotes = false;
+        for (int i = quoted ? 0 : comma; i <= length; i++) {
+            if (i < length) {
+                char c = value.charAt(i);
+                if (inQuotes) {
+                    if (c == '\\' && i + 1 < length) {
+                        i++;
+                    } else if (c == '"') {
+                        inQuotes = false;
+                    }
+                    continue;
+                }
+                if (quoted && c == '"') {
+                    inQuotes = true;
+                    continue;
+                }
+                if (c != ',') {
+                    continue;
+                }
+            }
+            result.add(trimmed(value, start, i));
+            if (i > start) {
+                kept = result.size();
+            }
+            start = i + 1;
+        }
+        if (kept == 0) {
+            return Collections.emptyList();
+        }
+        if (kept == 1) {
+            return Collections.singletonList(result.get(0));
+        }
+        return Collections.unmodifiableList(kept == result.size() ? result : result.subList(0, kept));
+    }
+
+    private static String trimmed(String value, int start, int end) {
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return value.substring(start, end);
+    }
+}
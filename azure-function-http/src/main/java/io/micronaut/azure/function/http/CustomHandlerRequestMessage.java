@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function.http;
+
+import com.microsoft.azure.functions.HttpMethod;
+import com.microsoft.azure.functions.HttpRequestMessage;
+import com.microsoft.azure.functions.HttpResponseMessage;
+import com.microsoft.azure.functions.HttpStatus;
+import com.microsoft.azure.functions.HttpStatusType;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The HTTP trigger data of a custom handler invocation, adapted to the {@link HttpRequestMessage} handled by
+ * {@link AzureHttpFunction}. Responses are built with a {@link ResponseBuilder}.
+ *
+ * @since 5.8.0
+ */
+@Internal
+final class CustomHandlerRequestMessage implements HttpRequestMessage<Optional<String>> {
+
+    static final String URL = "Url";
+    static final String METHOD = "Method";
+    static final String HEADERS = "Headers";
+    static final String QUERY = "Query";
+    static final String BODY = "Body";
+
+    private final URI uri;
+    private final HttpMethod httpMethod;
+    private final Map<String, String> headers;
+    private final Map<String, String> queryParameters;
+    private final String body;
+
+    /**
+     * @param trigger The HTTP trigger data of the invocation
+     * @param body    The body as text, if any
+     */
+    CustomHandlerRequestMessage(@NonNull Map<?, ?> trigger, @Nullable String body) {
+        this.uri = URI.create(String.valueOf(trigger.get(URL)));
+        this.httpMethod = HttpMethod.value(String.valueOf(trigger.get(METHOD)).toUpperCase(Locale.ENGLISH));
+        this.headers = toSingleValues(trigger.get(HEADERS));
+        this.queryParameters = toSingleValues(trigger.get(QUERY));
+        this.body = body;
+    }
+
+    /**
+     * @param data A binding of the invocation payload
+     * @return Whether the binding is the data of an HTTP trigger
+     */
+    static boolean isHttpTrigger(@Nullable Object data) {
+        return data instanceof Map<?, ?> map && map.get(URL) instanceof String && map.get(METHOD) instanceof String;
+    }
+
+    @Override
+    public URI getUri() {
+        return uri;
+    }
+
+    @Override
+    public HttpMethod getHttpMethod() {
+        return httpMethod;
+    }
+
+    @Override
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public Map<String, String> getQueryParameters() {
+        return queryParameters;
+    }
+
+    @Override
+    public Optional<String> getBody() {
+        return Optional.ofNullable(body);
+    }
+
+    @Override
+    public HttpResponseMessage.Builder createResponseBuilder(HttpStatus status) {
+        return new ResponseBuilder().status(status);
+    }
+
+    @Override
+    public HttpResponseMessage.Builder createResponseBuilder(HttpStatusType status) {
+        return new ResponseBuilder().status(status);
+    }
+
+    /**
+     * The custom handler payload holds the values of a header as an array, while the Azure request holds them as
+     * a single comma separated value.
+     */
+    private static Map<String, String> toSingleValues(Object values) {
+        if (!(values instanceof Map<?, ?> map) || map.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> result = new LinkedHashMap<>(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof Collection<?> collection) {
+                StringBuilder joined = new StringBuilder();
+                for (Object item : collection) {
+                    if (!joined.isEmpty()) {
+                        joined.append(',');
+                    }
+                    joined.append(item);
+                }
+                result.put(String.valueOf(entry.getKey()), joined.toString());
+            } else if (value != null) {
+                result.put(String.valueOf(entry.getKey()), value.toString());
+            }
+        }
+        return result;
+    }
+}
@@ -20,8 +20,6 @@ import com.microsoft.azure.functions.HttpResponseMessage;
 import io.micronaut.context.ApplicationContext;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.convert.ConversionService;
-import io.micronaut.function.BinaryTypeConfiguration;
-import io.micronaut.servlet.http.BodyBuilder;
 import io.micronaut.servlet.http.ServletExchange;
 import io.micronaut.servlet.http.ServletHttpHandler;
 import jakarta.inject.Singleton;
@@ -37,8 +35,11 @@ import java.util.Optional;
 @Singleton
 class HttpRequestMessageHandler extends ServletHttpHandler<HttpRequestMessage<Optional<String>>, HttpResponseMessage> {
 
+    private final AzureFunctionHttpExchangeFactory exchangeFactory;
+
     HttpRequestMessageHandler(ApplicationContext applicationContext) {
         super(applicationContext, applicationContext.getBean(ConversionService.class));
+        this.exchangeFactory = applicationContext.getBean(AzureFunctionHttpExchangeFactory.class);
     }
 
     @Override
@@ -46,17 +47,6 @@ class HttpRequestMessageHandler extends ServletHttpHandler<HttpRequestMessage<Op
         HttpRequestMessage<Optional<String>> request,
         HttpResponseMessage response
     ) {
-        return new AzureFunctionHttpRequest<>(
-            request,
-            new AzureFunctionHttpResponse<>(
-                request,
-                getApplicationContext().getConversionService(),
-                getApplicationContext().getBean(BinaryTypeConfiguration.class)
-            ),
-            new DefaultExecutionContext(),
-            applicationContext.getConversionService(),
-            applicationContext.getBean(BinaryTypeConfiguration.class),
-            applicationContext.getBean(BodyBuilder.class)
-        );
+        return exchangeFactory.create(request, new DefaultExecutionContext());
     }
 }
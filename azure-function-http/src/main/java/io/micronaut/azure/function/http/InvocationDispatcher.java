@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function.http;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Dispatches invocations of {@link AzureHttpFunction} to an executor, usually the virtual thread backed
+ * {@link io.micronaut.scheduling.TaskExecutors#BLOCKING} executor, allowing at most a fixed number of invocations to
+ * run at the same time.
+ *
+ * @since 5.8.0
+ */
+@Internal
+final class InvocationDispatcher {
+
+    private final Executor executor;
+    private final Semaphore permits;
+
+    /**
+     * @param executor The executor running the invocations
+     * @param maxConcurrentInvocations The maximum number of invocations running at the same time
+     */
+    InvocationDispatcher(@NonNull Executor executor, int maxConcurrentInvocations) {
+        if (maxConcurrentInvocations < 1) {
+            throw new IllegalArgumentException("The maximum number of concurrent invocations must be at least 1: " + maxConcurrentInvocations);
+        }
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrentInvocations);
+    }
+
+    /**
+     * Runs the invocation on the executor once a permit is available. The permit is awaited on the executor, so the
+     * calling thread never blocks, and invocations beyond the limit wait on their own, usually virtual, threads.
+     *
+     * @param invocation The invocation
+     * @param <T> The result type
+     * @return A future completed with the result of the invocation
+     */
+    @NonNull
+    <T> CompletableFuture<T> dispatch(@NonNull Supplier<CompletableFuture<T>> invocation) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> run(invocation, result));
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private <T> void run(Supplier<CompletableFuture<T>> invocation, CompletableFuture<T> result) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+            return;
+        }
+        CompletableFuture<T> future;
+        try {
+            future = invocation.get();
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            result.completeExceptionally(e);
+            return;
+        }
+        future.whenComplete((value, throwable) -> {
+            permits.release();
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+}
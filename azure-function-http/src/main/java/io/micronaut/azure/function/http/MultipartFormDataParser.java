@@ -0,0 +1,244 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function.http;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses a {@code multipart/form-data} body as defined by RFC 7578. The body is scanned once and every part
+ * references its content within the body, so parsing does not copy the part contents.
+ *
+ * @since 5.8.0
+ */
+@Internal
+final class MultipartFormDataParser {
+
+    private static final String BOUNDARY = "boundary";
+    private static final String NAME = "name";
+    private static final String FILENAME = "filename";
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final byte DASH = '-';
+
+    private final byte[] body;
+    private final byte[] delimiter;
+
+    /**
+     * @param body The request body
+     * @param boundary The boundary declared by the content type
+     */
+    MultipartFormDataParser(@NonNull byte[] body, @NonNull String boundary) {
+        this.body = body;
+        this.delimiter = ("--" + boundary).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @param contentType The content type of the request
+     * @return The boundary, if the content type declares one
+     */
+    @Nullable
+    static String boundary(@NonNull MediaType contentType) {
+        String boundary = contentType.getParameters().get(BOUNDARY).orElse(null);
+        if (boundary != null && boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+            boundary = boundary.substring(1, boundary.length() - 1);
+        }
+        return boundary;
+    }
+
+    /**
+     * @return The parts of the body
+     * @throws IOException if the body is not a valid multipart body
+     */
+    @NonNull
+    List<AzureCompletedFileUpload> parse() throws IOException {
+        List<AzureCompletedFileUpload> parts = new ArrayList<>();
+        int position = indexOf(delimiter, 0);
+        if (position < 0) {
+            throw new IOException("Missing multipart boundary");
+        }
+        while (true) {
+            position += delimiter.length;
+            if (startsWith(position, DASH, DASH)) {
+                return parts;
+            }
+            position = skipLine(position);
+            String name = null;
+            String filename = null;
+            MediaType contentType = null;
+            int lineEnd = indexOfLineEnd(position);
+            while (lineEnd > position) {
+                String line = new String(body, position, lineEnd - position, StandardCharsets.UTF_8);
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    String headerName = line.substring(0, colon).trim();
+                    String headerValue = line.substring(colon + 1).trim();
+                    if (HttpHeaders.CONTENT_DISPOSITION.equalsIgnoreCase(headerName)) {
+                        name = dispositionParameter(headerValue, NAME);
+                        filename = dispositionParameter(headerValue, FILENAME);
+                    } else if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(headerName)) {
+                        contentType = mediaType(headerValue);
+                    }
+                }
+                position = skipLine(lineEnd);
+                lineEnd = indexOfLineEnd(position);
+            }
+            if (lineEnd < 0) {
+                throw new IOException("Unterminated multipart headers");
+            }
+            int contentStart = skipLine(lineEnd);
+            int next = indexOfDelimiter(contentStart);
+            if (next < 0) {
+                throw new IOException("Unterminated multipart part");
+            }
+            int contentEnd = next;
+            if (contentEnd > contentStart && body[contentEnd - 1] == LF) {
+                contentEnd--;
+            }
+            if (contentEnd > contentStart && body[contentEnd - 1] == CR) {
+                contentEnd--;
+            }
+            if (name != null) {
+                parts.add(new AzureCompletedFileUpload(name, filename, contentType, body, contentStart, contentEnd - contentStart));
+            }
+            position = next;
+        }
+    }
+
+    private int indexOfDelimiter(int from) {
+        int index = indexOf(delimiter, from);
+        while (index > 0 && !isDelimiterLine(index)) {
+            index = indexOf(delimiter, index + 1);
+        }
+        return index;
+    }
+
+    private boolean isDelimiterLine(int index) {
+        if (body[index - 1] != LF) {
+            return false;
+        }
+        int end = index + delimiter.length;
+        if (startsWith(end, DASH, DASH)) {
+            return true;
+        }
+        while (end < body.length && (body[end] == ' ' || body[end] == '\t')) {
+            end++;
+        }
+        return end == body.length || body[end] == CR || body[end] == LF;
+    }
+
+    private int indexOf(byte[] target, int from) {
+        int last = body.length - target.length;
+        byte first = target[0];
+        for (int i = from; i <= last; i++) {
+            if (body[i] != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < target.length && body[i + j] == target[j]) {
+                j++;
+            }
+            if (j == target.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOfLineEnd(int from) {
+        for (int i = from; i < body.length; i++) {
+            if (body[i] == LF) {
+                return i > from && body[i - 1] == CR ? i - 1 : i;
+            }
+        }
+        return -1;
+    }
+
+    private int skipLine(int from) {
+        int i = from;
+        while (i < body.length && body[i] != LF) {
+            i++;
+        }
+        return Math.min(i + 1, body.length);
+    }
+
+    private boolean startsWith(int position, byte first, byte second) {
+        return position + 1 < body.length && body[position] == first && body[position + 1] == second;
+    }
+
+    @Nullable
+    private static MediaType mediaType(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return MediaType.of(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static String dispositionParameter(String disposition, String parameter) {
+        int length = disposition.length();
+        int i = disposition.indexOf(';');
+        while (i >= 0 && i < length) {
+            int start = i + 1;
+            int equals = disposition.indexOf('=', start);
+            if (equals < 0) {
+                return null;
+            }
+            String key = disposition.substring(start, equals).trim().toLowerCase(Locale.ENGLISH);
+            int valueStart = equals + 1;
+            while (valueStart < length && disposition.charAt(valueStart) == ' ') {
+                valueStart++;
+            }
+            String value;
+            if (valueStart < length && disposition.charAt(valueStart) == '"') {
+                StringBuilder builder = new StringBuilder();
+                int j = valueStart + 1;
+                while (j < length && disposition.charAt(j) != '"') {
+                    char c = disposition.charAt(j);
+                    if (c == '\\' && j + 1 < length) {
+                        j++;
+                        c = disposition.charAt(j);
+                    }
+                    builder.append(c);
+                    j++;
+                }
+                value = builder.toString();
+                i = disposition.indexOf(';', j);
+            } else {
+                int end = disposition.indexOf(';', valueStart);
+                value = disposition.substring(valueStart, end < 0 ? length : end).trim();
+                i = end;
+            }
+            if (key.equals(parameter)) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function.http;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.util.ArrayUtils;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Buffers the body of an {@link AzureFunctionHttpResponse}. When the response declares a {@code Content-Length} the
+ * buffer allocates a single array of that size, which is handed to the Azure response as is. Otherwise the body is
+ * written to fixed size chunks borrowed from a shared pool, so growing the buffer never copies what was already
+ * written, and the chunks are returned to the pool once the body has been assembled.
+ *
+ * @since 5.8.0
+ */
+@Internal
+final class ResponseBodyBuffer extends OutputStream {
+
+    static final int CHUNK_SIZE = 16 * 1024;
+    static final int MAX_POOLED_CHUNKS = 256;
+    static final int MAX_PRESIZED_LENGTH = 64 * 1024 * 1024;
+
+    private static final BlockingQueue<byte[]> POOL = new ArrayBlockingQueue<>(MAX_POOLED_CHUNKS);
+
+    private final Supplier<OptionalLong> contentLength;
+    private final List<byte[]> chunks = new ArrayList<>(4);
+    private byte[] current;
+    private int position;
+    private int count;
+    private boolean exact;
+
+    /**
+     * @param contentLength Supplies the declared content length of the response, read on the first write
+     */
+    ResponseBodyBuffer(@NonNull Supplier<OptionalLong> contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    @Override
+    public void write(int b) {
+        if (current == null || position == current.length) {
+            nextChunk();
+        }
+        current[position++] = (byte) b;
+        count++;
+    }
+
+    @Override
+    public void write(@NonNull byte[] b, int off, int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+        int remaining = len;
+        int offset = off;
+        while (remaining > 0) {
+            if (current == null || position == current.length) {
+                nextChunk();
+            }
+            int length = Math.min(remaining, current.length - position);
+            System.arraycopy(b, offset, current, position, length);
+            position += length;
+            offset += length;
+            remaining -= length;
+            count += length;
+        }
+    }
+
+    /**
+     * @return The number of bytes written
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * The body written so far. When the body fits exactly into a single array that array is returned without
+     * copying. The pooled chunks are released, so the returned array must not be modified.
+     *
+     * @return The body bytes
+     */
+    @NonNull
+    byte[] toByteArray() {
+        if (count == 0) {
+            return ArrayUtils.EMPTY_BYTE_ARRAY;
+        }
+        if (exact && chunks.size() == 1 && count == current.length) {
+            return current;
+        }
+        byte[] result = new byte[count];
+        int offset = 0;
+        for (byte[] chunk : chunks) {
+            int length = Math.min(chunk.length, count - offset);
+            System.arraycopy(chunk, 0, result, offset, length);
+            offset += length;
+        }
+        release();
+        chunks.add(result);
+        current = result;
+        position = result.length;
+        exact = true;
+        return result;
+    }
+
+    private void nextChunk() {
+        byte[] chunk;
+        if (current == null) {
+            OptionalLong declaredLength = contentLength.get();
+            long length = declaredLength.isPresent() ? declaredLength.getAsLong() : -1;
+            if (length > 0 && length <= MAX_PRESIZED_LENGTH) {
+                chunk = new byte[(int) length];
+                exact = true;
+            } else {
+                chunk = borrow();
+            }
+        } else {
+            chunk = borrow();
+        }
+        chunks.add(chunk);
+        current = chunk;
+        position = 0;
+    }
+
+    private void release() {
+        for (int i = exact ? 1 : 0; i < chunks.size(); i++) {
+            byte[] chunk = chunks.get(i);
+            if (chunk.length == CHUNK_SIZE) {
+                POOL.offer(chunk);
+            }
+        }
+        chunks.clear();
+    }
+
+    private static byte[] borrow() {
+        byte[] chunk = POOL.poll();
+        return chunk != null ? chunk : new byte[CHUNK_SIZE];
+    }
+}
@@ -0,0 +1,107 @@
+package io.micronaut.azure.function.http
+
+import io.micronaut.azure.function.AzureFunction
+import io.micronaut.core.type.Argument
+import io.micronaut.json.JsonMapper
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.net.http.HttpClient
+import java.net.http.HttpRequest
+import java.net.http.HttpResponse
+
+class AzureCustomHandlerSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    AzureHttpFunction function = new AzureHttpFunction(AzureFunction.defaultApplicationContextBuilder())
+
+    @Shared
+    @AutoCleanup
+    AzureCustomHandler handler = new AzureCustomHandler(function)
+
+    @Shared
+    JsonMapper jsonMapper = function.applicationContext.getBean(JsonMapper)
+
+    void setupSpec() {
+        handler.start(0)
+    }
+
+    void "the HTTP trigger data of an invocation is routed to the controllers"() {
+        when:
+        Map<String, Object> result = invoke([
+                Url    : 'http://localhost:7071/parameters/query?q=Fred',
+                Method : 'GET',
+                Query  : [q: 'Fred'],
+                Headers: [Accept: ['text/plain']]
+        ])
+
+        then:
+        result.Outputs.res.statusCode == 200
+        result.Outputs.res.body == 'Hello Fred'
+        result.Outputs.res.headers['Content-Type'].startsWith('text/plain')
+    }
+
+    void "the body of the invocation is passed to the controllers"() {
+        when:
+        Map<String, Object> result = invoke([
+                Url    : 'http://localhost:7071/parameters/stringBody',
+                Method : 'POST',
+                Headers: ['Content-Type': ['text/plain']],
+                Body   : 'Fred'
+        ])
+
+        then:
+        result.Outputs.res.statusCode == 200
+        result.Outputs.res.body == 'Hello Fred'
+    }
+
+    void "the values of a multi-valued response header are returned separately"() {
+        when:
+        Map<String, Object> result = invoke([
+                Url    : 'http://localhost:7071/parameters/multipleCookies',
+                Method : 'GET',
+                Headers: [Accept: ['text/plain']]
+        ])
+
+        then:
+        result.Outputs.res.statusCode == 200
+        result.Outputs.res.headers['Set-Cookie'].size() == 2
+        result.Outputs.res.headers['Set-Cookie'].any { it.startsWith('foo=bar') }
+        result.Outputs.res.headers['Set-Cookie'].any { it.startsWith('baz=qux') }
+    }
+
+    void "a binary response body fails the invocation instead of being corrupted"() {
+        when:
+        HttpResponse<String> response = post([Data: [req: [
+                Url    : 'http://localhost:7071/parameters/bytesResponse',
+                Method : 'GET',
+                Headers: [Accept: ['application/octet-stream']]
+        ]], Metadata: [:]])
+
+        then:
+        response.statusCode() == 500
+    }
+
+    void "an invocation without HTTP trigger data is rejected"() {
+        when:
+        HttpResponse<String> response = post([Data: [timer: [IsPastDue: false]]])
+
+        then:
+        response.statusCode() == 400
+    }
+
+    private Map<String, Object> invoke(Map<String, Object> trigger) {
+        HttpResponse<String> response = post([Data: [req: trigger], Metadata: [:]])
+        assert response.statusCode() == 200
+        jsonMapper.readValue(response.body(), Argument.mapOf(String, Object))
+    }
+
+    private HttpResponse<String> post(Map<String, Object> payload) {
+        HttpClient.newHttpClient().send(HttpRequest.newBuilder(URI.create("http://${InetAddress.loopbackAddress.hostAddress}:${handler.port}/HttpExample"))
+                .header('Content-Type', 'application/json')
+                .POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(payload)))
+                .build(), HttpResponse.BodyHandlers.ofString())
+    }
+}
@@ -0,0 +1,33 @@
+package io.micronaut.azure.function.http
+
+import com.microsoft.azure.functions.HttpMethod
+import com.microsoft.azure.functions.HttpRequestMessage
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.MediaType
+import spock.lang.Specification
+
+class AzureFunctionHttpExchangeFactorySpec extends Specification {
+
+    void "exchange factory is a singleton which builds request and response"() {
+        given:
+        AzureHttpFunction function = new AzureHttpFunction()
+        AzureFunctionHttpExchangeFactory factory = function.applicationContext.getBean(AzureFunctionHttpExchangeFactory)
+        HttpRequestMessage<Optional<String>> request = function
+                .request(HttpMethod.POST, "/form/form-url-encoded")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED)
+                .body("message=bodyMessage")
+                .buildEncoded()
+
+        when:
+        AzureFunctionHttpRequest<Object> exchange = factory.create(request, new DefaultExecutionContext())
+
+        then:
+        factory.is(function.applicationContext.getBean(AzureFunctionHttpExchangeFactory))
+        exchange.nativeRequest.is(request)
+        exchange.response != null
+        exchange.parameters.get("message") == "bodyMessage"
+
+        cleanup:
+        function.close()
+    }
+}
@@ -0,0 +1,80 @@
+package io.micronaut.azure.function.http
+
+import io.micronaut.core.convert.ConversionService
+import spock.lang.Specification
+
+class AzureFunctionHttpHeadersSpec extends Specification {
+
+    void "header values are looked up case insensitively and split on first access"() {
+        given:
+        AzureFunctionHttpHeaders headers = new AzureFunctionHttpHeaders(
+                ['accept': 'text/plain, application/json', 'X-Custom': 'foo'],
+                ConversionService.SHARED
+        )
+
+        expect:
+        headers.getAll('Accept') == ['text/plain', 'application/json']
+        headers.get('ACCEPT') == 'text/plain'
+        headers.get('x-custom') == 'foo'
+        headers.get('missing') == null
+        headers.names() == ['accept', 'X-Custom'] as Set
+        headers.get('X-Custom', Integer).isEmpty()
+        headers.getAll('accept').is(headers.getAll('Accept'))
+    }
+
+    void "mutations are visible through the view"() {
+        given:
+        AzureFunctionHttpHeaders headers = new AzureFunctionHttpHeaders(
+                ['Accept': 'text/plain', 'X-Remove': 'foo'],
+                ConversionService.SHARED
+        )
+
+        when:
+        headers.add('accept', 'application/json')
+        headers.add('X-Added', '1')
+        headers.remove('x-remove')
+
+        then:
+        headers.getAll('Accept') == ['text/plain', 'application/json']
+        headers.get('X-Added', Integer).get() == 1
+        !headers.contains('X-Remove')
+        headers.names() == ['Accept', 'X-Added'] as Set
+    }
+
+    void "a removed header is deleted instead of being kept without values"() {
+        given:
+        AzureFunctionHttpHeaders headers = new AzureFunctionHttpHeaders(['X-Remove': 'foo'], ConversionService.SHARED)
+
+        when:
+        headers.remove('X-Remove')
+
+        then:
+        headers.isEmpty()
+        headers.values().isEmpty()
+
+        when:
+        headers.add('x-remove', 'bar')
+
+        then:
+        headers.getAll('X-Remove') == ['bar']
+        headers.names() == ['x-remove'] as Set
+    }
+
+    void "header values can be read from several threads"() {
+        given:
+        AzureFunctionHttpHeaders headers = new AzureFunctionHttpHeaders(
+                ['Accept': 'text/plain, application/json'],
+                ConversionService.SHARED
+        )
+        List<List<String>> values = [].asSynchronized() as List<List<String>>
+
+        when:
+        (1..8).collect { index -> Thread.start { values << headers.getAll(index % 2 ? 'accept' : 'ACCEPT') } }
+                .each { it.join() }
+
+        then:
+        values.size() == 8
+        values.every { it == ['text/plain', 'application/json'] }
+        headers.getAll('Accept').is(headers.getAll('accept'))
+    }
+}
@@ -0,0 +1,132 @@
+package io.micronaut.azure.function.http
+
+import com.microsoft.azure.functions.HttpMethod
+import com.microsoft.azure.functions.HttpRequestMessage
+import com.microsoft.azure.functions.HttpResponseMessage
+import com.microsoft.azure.functions.HttpStatus
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.MediaType
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class AzureFunctionHttpRequestSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    AzureHttpFunction function = new AzureHttpFunction()
+
+    void "the body is decoded once and shared by every reader"() {
+        given:
+        AzureFunctionHttpRequest<Object> request = create(
+                function.request(HttpMethod.POST, "/parameters/fullRequest")
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                        .body('{"name":"bar","age":20}')
+        )
+
+        expect:
+        request.bodyBytes.is(request.bodyBytes)
+        new String(request.inputStream.readAllBytes(), StandardCharsets.UTF_8) == '{"name":"bar","age":20}'
+        new String(request.inputStream.readAllBytes(), StandardCharsets.UTF_8) == '{"name":"bar","age":20}'
+        request.contents().toString(StandardCharsets.UTF_8) == '{"name":"bar","age":20}'
+    }
+
+    void "an empty body is read as empty"() {
+        given:
+        AzureFunctionHttpRequest<Object> request = create(
+                function.request(HttpMethod.POST, "/parameters/stringBody")
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN)
+                        .body('')
+        )
+
+        expect:
+        request.bodyBytes.length == 0
+        request.inputStream.readAllBytes().length == 0
+    }
+
+        void "values can be added to an existing query parameter"() {
+        given:
+        AzureFunctionHttpRequest<Object> request = create(
+                function.request(HttpMethod.GET, "/parameters/query").parameter("q", "Fred,Bob")
+        )
+
+        when:
+        request.parameters.add("q", "Alice")
+
+        then:
+        request.parameters.getAll("q") == ["Fred", "Bob", "Alice"]
+    }
+
+        void "binary bodies are Base64 decoded"() {
+        given:
+        byte[] bytes = [0, 1, 2, (byte) 0xFF] as byte[]
+        AzureFunctionHttpRequest<Object> request = create(
+                function.request(HttpMethod.POST, "/binary")
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM)
+                        .body(Base64.encoder.encodeToString(bytes))
+        )
+
+        expect:
+        request.bodyBytes == bytes
+        request.inputStream.readAllBytes() == bytes
+    }
+
+    void "binary trigger bodies are used as is"() {
+        given:
+        byte[] bytes = [0, 1, 2, (byte) 0xFF] as byte[]
+        AzureFunctionHttpRequest<Object> request = function.applicationContext.getBean(AzureFunctionHttpExchangeFactory)
+                .createBinary(binaryRequest("/binary", MediaType.APPLICATION_OCTET_STREAM, bytes), new DefaultExecutionContext())
+
+        expect:
+        request.bodyBytes.is(bytes)
+        request.inputStream.readAllBytes() == bytes
+    }
+
+    void "binary trigger requests are routed"() {
+        given:
+        def json = '{"name":"bar","age":30}'
+        HttpRequestMessage<Optional<byte[]>> requestMessage = binaryRequest("/parameters/jsonBody", MediaType.APPLICATION_JSON, json.getBytes(StandardCharsets.UTF_8))
+
+        when:
+        HttpResponseMessage responseMessage = function.routeBinary(requestMessage, new DefaultExecutionContext())
+
+        then:
+        responseMessage.statusCode == HttpStatus.OK.value()
+        responseMessage.body == json
+    }
+
+    void "binary trigger requests are bound to the request message type declared by the controller"() {
+        when:
+        HttpResponseMessage stringResponse = function.routeBinary(
+                binaryRequest("/parameters/stringRequestMessage", MediaType.TEXT_PLAIN, 'Fred'.getBytes(StandardCharsets.UTF_8)),
+                new DefaultExecutionContext()
+        )
+        HttpResponseMessage bytesResponse = function.routeBinary(
+                binaryRequest("/parameters/bytesRequestMessage", MediaType.APPLICATION_OCTET_STREAM, [0, 1, 2, (byte) 0xFF] as byte[]),
+                new DefaultExecutionContext()
+        )
+
+        then:
+        stringResponse.statusCode == HttpStatus.OK.value()
+        stringResponse.body == 'Hello Fred'
+        bytesResponse.statusCode == HttpStatus.OK.value()
+        bytesResponse.body == 'Bytes 4'
+    }
+
+    private HttpRequestMessage<Optional<byte[]>> binaryRequest(String path, String contentType, byte[] body) {
+        Stub(HttpRequestMessage) {
+            getUri() >> URI.create("http://localhost" + path)
+            getHttpMethod() >> HttpMethod.POST
+            getHeaders() >> [(HttpHeaders.CONTENT_TYPE): contentType]
+            getQueryParameters() >> [:]
+            getBody() >> Optional.of(body)
+            createResponseBuilder(_) >> { args -> new ResponseBuilder().status(args[0]) }
+        }
+    }
+
+    private AzureFunctionHttpRequest<Object> create(HttpRequestMessageBuilder<?> builder) {
+        function.applicationContext.getBean(AzureFunctionHttpExchangeFactory).create(builder.buildEncoded(), new DefaultExecutionContext())
+    }
+}
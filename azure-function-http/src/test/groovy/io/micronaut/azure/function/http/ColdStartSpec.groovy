@@ -0,0 +1,24 @@
+package io.micronaut.azure.function.http
+
+import com.microsoft.azure.functions.HttpMethod
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.annotation.Controller
+import io.micronaut.inject.qualifiers.Qualifiers
+import spock.lang.Specification
+
+class ColdStartSpec extends Specification {
+
+    void "controllers are initialized while the function is created"() {
+        given:
+        AzureHttpFunction function = new AzureHttpFunction(AzureHttpFunction.eagerControllersApplicationContextBuilder())
+
+        expect:
+        function.applicationContext.getActiveBeanRegistrations(Qualifiers.byStereotype(Controller))
+                .any { it.beanDefinition.beanType == ParametersController }
+        function.startupTimeline.phases.keySet().containsAll(["build", "start", "inject", "http-handler", "routing"])
+        function.request(HttpMethod.GET, "/request-scope").invoke().statusCode == HttpStatus.OK.code
+
+        cleanup:
+        function.close()
+    }
+}
@@ -0,0 +1,48 @@
+package io.micronaut.azure.function.http
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CommaSeparatedValuesSpec extends Specification {
+
+    @Unroll
+    void "header #name: #value is split into #expected"(String name, String value, List<String> expected) {
+        expect:
+        CommaSeparatedValues.splitHeader(name, value) == expected
+
+        where:
+        name                | value                                  | expected
+        'Accept'            | 'text/plain, application/json'         | ['text/plain', 'application/json']
+        'accept'            | 'text/plain'                           | ['text/plain']
+        'Accept'            | ' a ,, b ,'                            | ['a', '', 'b']
+        'Accept'            | 'a,,b'                                 | ['a', '', 'b']
+        'Accept'            | ',a'                                   | ['', 'a']
+        'Accept'            | 'a, '                                  | ['a', '']
+        'Accept'            | ','                                    | []
+        'Accept'            | ''                                     | ['']
+        'If-None-Match'     | '"a",,"b"'                             | ['"a"', '', '"b"']
+        'Accept'            | null                                   | []
+        'If-None-Match'     | '"xyzzy", "r2d2,xxxx", "c3piozzzz"'    | ['"xyzzy"', '"r2d2,xxxx"', '"c3piozzzz"']
+        'If-None-Match'     | '"a\\",b", "c'                         | ['"a\\",b"', '"c']
+        'Date'              | 'Sat, 29 Oct 1994 19:43:31 GMT'        | ['Sat, 29 Oct 1994 19:43:31 GMT']
+        'expires'           | 'Thu, 01 Dec 1994 16:00:00 GMT'        | ['Thu, 01 Dec 1994 16:00:00 GMT']
+        'Set-Cookie'        | 'id=a; Expires=Wed, 21 Oct 2015 07:28:00 GMT' | ['id=a; Expires=Wed, 21 Oct 2015 07:28:00 GMT']
+        'X-Custom'          | 'foo,bar'                              | ['foo', 'bar']
+    }
+
+    void "values are split on every comma"() {
+        expect:
+        CommaSeparatedValues.split('a,"b,c"') == ['a', '"b', 'c"']
+        CommaSeparatedValues.split('foo') == ['foo']
+        CommaSeparatedValues.split(null) == []
+    }
+
+    @Unroll
+    void "empty elements of #value are kept as String.split does"(String value) {
+        expect:
+        CommaSeparatedValues.split(value) == value.split(',').collect { it.trim() }
+
+        where:
+        value << ['', ' ', 'a', 'a,,b', ',a', 'a,', 'a, ', ',', ',,', ' a ,, b ,', '\'\',b']
+    }
+}
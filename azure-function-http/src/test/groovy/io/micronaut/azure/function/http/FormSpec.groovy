@@ -79,4 +79,29 @@ class FormSpec extends Specification {
         cleanup:
         function.close()
     }
+
+    void "form parameters are decoded once per request and writes are retained"() {
+        given:
+        AzureHttpFunction function = new AzureHttpFunction()
+        AzureFunctionHttpRequest<Object> request = function.applicationContext.getBean(AzureFunctionHttpExchangeFactory).create(
+                function.request(HttpMethod.POST, "/form/form-url-encoded")
+                        .header("Content-Type", MediaType.APPLICATION_FORM_URLENCODED)
+                        .parameter("page", "2")
+                        .body("message=bodyMessage")
+                        .buildEncoded(),
+                new DefaultExecutionContext()
+        )
+
+        when:
+        request.parameters.add("extra", "value")
+
+        then:
+        request.parameters.is(request.parameters)
+        request.parameters.get("message") == "bodyMessage"
+        request.parameters.get("page") == "2"
+        request.parameters.get("extra") == "value"
+
+        cleanup:
+        function.close()
+    }
 }
@@ -0,0 +1,101 @@
+package io.micronaut.azure.function.http
+
+import com.microsoft.azure.functions.HttpMethod
+import com.microsoft.azure.functions.HttpResponseMessage
+import io.micronaut.azure.function.AzureFunction
+import io.micronaut.http.HttpStatus
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+class InvocationDispatcherSpec extends Specification {
+
+    ExecutorService executor = Executors.newCachedThreadPool()
+
+    void cleanup() {
+        executor.shutdownNow()
+    }
+
+    void "invocations run on the executor"() {
+        given:
+        InvocationDispatcher dispatcher = new InvocationDispatcher(executor, 1)
+        Thread caller = Thread.currentThread()
+
+        expect:
+        dispatcher.dispatch(() -> CompletableFuture.completedFuture(Thread.currentThread())).get(5, TimeUnit.SECONDS) != caller
+    }
+
+    void "at most the configured number of invocations run at the same time"() {
+        given:
+        InvocationDispatcher dispatcher = new InvocationDispatcher(executor, 2)
+        CompletableFuture<String> first = new CompletableFuture<>()
+        CompletableFuture<String> second = new CompletableFuture<>()
+        CountDownLatch started = new CountDownLatch(2)
+        dispatcher.dispatch(() -> { started.countDown(); first })
+        dispatcher.dispatch(() -> { started.countDown(); second })
+        started.await(5, TimeUnit.SECONDS)
+        AtomicBoolean thirdStarted = new AtomicBoolean()
+
+        when: 'the caller does not wait for a permit'
+        CompletableFuture<String> third = dispatcher.dispatch(() -> {
+            thirdStarted.set(true)
+            CompletableFuture.completedFuture("third")
+        })
+        Thread.sleep(200)
+
+        then:
+        !thirdStarted.get()
+        !third.done
+
+        when:
+        first.complete("first")
+
+        then:
+        third.get(5, TimeUnit.SECONDS) == "third"
+    }
+
+    void "failures complete the future of the invocation"() {
+        given:
+        InvocationDispatcher dispatcher = new InvocationDispatcher(executor, 1)
+
+        when:
+        dispatcher.dispatch(() -> { throw new IllegalStateException("boom") }).get(5, TimeUnit.SECONDS)
+
+        then:
+        ExecutionException e = thrown()
+        e.cause instanceof IllegalStateException
+        e.cause.message == "boom"
+    }
+
+    void "only asynchronous routes are dispatched when virtual threads are enabled"() {
+        given:
+        AzureHttpFunction function = new AzureHttpFunction(
+                AzureFunction.defaultApplicationContextBuilder().properties(("azure.function.http.virtual-threads"): true)
+        )
+        String caller = Thread.currentThread().toString()
+
+        when:
+        HttpResponseMessage responseMessage = function.request(HttpMethod.GET, "/async/thread").invoke()
+        HttpResponseMessage asyncResponseMessage = function.routeAsync(
+                function.request(HttpMethod.GET, "/async/thread").buildEncoded(),
+                new DefaultExecutionContext()
+        ).get(5, TimeUnit.SECONDS)
+
+        then: 'route runs on the caller thread'
+        responseMessage.statusCode == HttpStatus.OK.code
+        responseMessage.body == caller
+
+        and: 'routeAsync runs on the executor'
+        asyncResponseMessage.statusCode == HttpStatus.OK.code
+        asyncResponseMessage.body != caller
+
+        cleanup:
+        function.close()
+    }
+}
@@ -0,0 +1,57 @@
+package io.micronaut.azure.function.http
+
+import io.micronaut.http.MediaType
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class MultipartFormDataParserSpec extends Specification {
+
+    void "parts reference the request body"() {
+        given:
+        byte[] body = [
+                'preamble',
+                '--xyz',
+                'Content-Disposition: form-data; name="field"',
+                '',
+                'value',
+                '--xyz',
+                'content-disposition: form-data; name="file"; filename="a \\"b\\".txt"',
+                'Content-Type: text/plain; charset=UTF-8',
+                '',
+                'line one',
+                '--xyz is not a delimiter here',
+                '--xyz--',
+                'epilogue'
+        ].join('\r\n').getBytes(StandardCharsets.UTF_8)
+
+        when:
+        List<AzureCompletedFileUpload> parts = new MultipartFormDataParser(body, 'xyz').parse()
+
+        then:
+        parts.size() == 2
+        parts[0].name == 'field'
+        parts[0].filename == null
+        new String(parts[0].bytes, StandardCharsets.UTF_8) == 'value'
+        parts[1].name == 'file'
+        parts[1].filename == 'a "b".txt'
+        parts[1].contentType.get() == MediaType.TEXT_PLAIN_TYPE
+        parts[1].getText(StandardCharsets.UTF_8) == 'line one\r\n--xyz is not a delimiter here'
+        parts[1].byteBuffer.remaining() == parts[1].size
+    }
+
+    void "boundary is read from the content type"() {
+        expect:
+        MultipartFormDataParser.boundary(MediaType.of('multipart/form-data; boundary="a b"')) == 'a b'
+        MultipartFormDataParser.boundary(MediaType.of('multipart/form-data; boundary=abc')) == 'abc'
+        MultipartFormDataParser.boundary(MediaType.MULTIPART_FORM_DATA_TYPE) == null
+    }
+
+    void "unterminated bodies are rejected"() {
+        when:
+        new MultipartFormDataParser('--xyz\r\nContent-Disposition: form-data; name="a"\r\n\r\nvalue'.bytes, 'xyz').parse()
+
+        then:
+        thrown(IOException)
+    }
+}
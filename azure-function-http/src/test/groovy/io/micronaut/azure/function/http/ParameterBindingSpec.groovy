@@ -293,27 +293,45 @@ class ParameterBindingSpec extends Specification {
         function.close()
     }
 
-//  TODO: multipart not directly supported by Azure
-//
-//    void "test multipart binding"() {
-//        given:
-//        def googleRequest = new MockGoogleRequest(HttpMethod.POST, "/parameters/multipart")
-//        googleRequest.addParameter("foo", "bar")
-//        googleRequest.parts.put("one", new MockGoogleHttpPart("one.json", '{"name":"bar","age":20}', "application/json"))
-//        googleRequest.parts.put("two", new MockGoogleHttpPart("two.txt", 'Whatever', "text/plain"))
-//        googleRequest.parts.put("three", new MockGoogleHttpPart("some.doc", 'My Doc', "application/octet-stream"))
-//        googleRequest.parts.put("four", new MockGoogleHttpPart("raw.doc", 'Another Doc', "application/octet-stream"))
-//        googleRequest.addHeader(HttpHeaders.CONTENT_TYPE, MediaType.MULTIPART_FORM_DATA)
-//        def googleResponse = new MockGoogleResponse()
-//        new HttpFunction()
-//                .service(googleRequest, googleResponse)
-//
-//        expect:
-//        googleResponse.statusCode == HttpStatus.OK.code
-//        googleResponse.text == 'Good: true'
-//
-//    }
+    void "test multipart binding"() {
+        given:
+        AzureHttpFunction function = new AzureHttpFunction()
+        String body = [
+                '--boundary',
+                'Content-Disposition: form-data; name="foo"',
+                '',
+                'bar',
+                '--boundary',
+                'Content-Disposition: form-data; name="one"',
+                'Content-Type: text/plain',
+                '',
+                'first, with a comma',
+                '--boundary',
+                'Content-Disposition: form-data; name="two"; filename="two.txt"',
+                'Content-Type: text/plain',
+                '',
+                'Whatever',
+                '--boundary',
+                'Content-Disposition: form-data; name="three"; filename="some.doc"',
+                'Content-Type: application/octet-stream',
+                '',
+                'My Doc',
+                '--boundary--',
+                ''
+        ].join('\r\n')
+        HttpResponseMessage responseMessage = function
+                .request(HttpMethod.POST, "/parameters/multipart")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.MULTIPART_FORM_DATA + '; boundary=boundary')
+                .body(body)
+                .invoke()
+
+        expect:
+        responseMessage.statusCode == HttpStatus.OK.code
+        responseMessage.body == 'Good: bar first, with a comma two.txt=Whatever My Doc'
 
+        cleanup:
+        function.close()
+    }
 
     private HttpRequestMessage<Optional<String>> createHttpRequestMessage(String path) {
         return new HttpRequestMessage<Optional<String>>() {
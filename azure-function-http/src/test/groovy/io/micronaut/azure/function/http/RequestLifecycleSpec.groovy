@@ -0,0 +1,29 @@
+package io.micronaut.azure.function.http
+
+import com.microsoft.azure.functions.HttpMethod
+import com.microsoft.azure.functions.HttpResponseMessage
+import io.micronaut.http.HttpStatus
+import spock.lang.Specification
+
+class RequestLifecycleSpec extends Specification {
+
+    void "request scoped beans are destroyed after each invocation while the function stays registered"() {
+        given:
+        AzureHttpFunction function = new AzureHttpFunction()
+        int destroyed = RequestScopeController.RequestBean.DESTROYED.get()
+
+        when:
+        HttpResponseMessage first = function.request(HttpMethod.GET, "/request-scope").invoke()
+        HttpResponseMessage second = function.request(HttpMethod.GET, "/request-scope").invoke()
+
+        then:
+        first.statusCode == HttpStatus.OK.code
+        second.statusCode == HttpStatus.OK.code
+        first.body != second.body
+        RequestScopeController.RequestBean.DESTROYED.get() == destroyed + 2
+        function.applicationContext.getBean(AzureHttpFunction).is(function)
+
+        cleanup:
+        function.close()
+    }
+}
@@ -0,0 +1,65 @@
+package io.micronaut.azure.function.http
+
+import spock.lang.Specification
+
+class ResponseBodyBufferSpec extends Specification {
+
+    void "a body matching the declared content length is handed over without a copy"() {
+        given:
+        byte[] bytes = bytes(1000)
+        ResponseBodyBuffer buffer = new ResponseBodyBuffer(() -> OptionalLong.of(bytes.length))
+
+        when:
+        buffer.write(bytes, 0, 600)
+        buffer.write(bytes, 600, 400)
+
+        then:
+        buffer.toByteArray() == bytes
+        buffer.toByteArray().is(buffer.toByteArray())
+    }
+
+    void "a body larger than the declared content length is not truncated"() {
+        given:
+        byte[] bytes = bytes(100)
+        ResponseBodyBuffer buffer = new ResponseBodyBuffer(() -> OptionalLong.of(10))
+
+        when:
+        buffer.write(bytes)
+
+        then:
+        buffer.size() == 100
+        buffer.toByteArray() == bytes
+    }
+
+    void "a body without content length is written to chunks"() {
+        given:
+        byte[] bytes = bytes(ResponseBodyBuffer.CHUNK_SIZE * 3 + 17)
+        ResponseBodyBuffer buffer = new ResponseBodyBuffer(() -> OptionalLong.empty())
+
+        when:
+        buffer.write(bytes[0])
+        buffer.write(bytes, 1, bytes.length - 1)
+
+        then:
+        buffer.toByteArray() == bytes
+        buffer.toByteArray().is(buffer.toByteArray())
+
+        when:
+        buffer.write(bytes, 0, 3)
+
+        then:
+        buffer.size() == bytes.length + 3
+        buffer.toByteArray() == Arrays.copyOf(bytes, bytes.length + 3).tap { System.arraycopy(bytes, 0, it, bytes.length, 3) }
+    }
+
+    void "an empty body"() {
+        expect:
+        new ResponseBodyBuffer(() -> OptionalLong.empty()).toByteArray().length == 0
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] bytes = new byte[length]
+        new Random(length).nextBytes(bytes)
+        bytes
+    }
+}
@@ -0,0 +1,60 @@
+package io.micronaut.azure.function.http
+
+import com.microsoft.azure.functions.HttpMethod
+import com.microsoft.azure.functions.HttpResponseMessage
+import io.micronaut.http.HttpStatus
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+class RouteAsyncSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    AzureHttpFunction function = new AzureHttpFunction()
+
+    void "a completed route completes the future"() {
+        when:
+        HttpResponseMessage responseMessage = function.routeAsync(
+                function.request(HttpMethod.GET, "/async/immediate").buildEncoded(),
+                new DefaultExecutionContext()
+        ).get(5, TimeUnit.SECONDS)
+
+        then:
+        responseMessage.statusCode == HttpStatus.OK.code
+        responseMessage.body == "immediate"
+    }
+
+    void "the invoking thread is released while the route is suspended"() {
+        when:
+        CompletableFuture<HttpResponseMessage> future = function.routeAsync(
+                function.request(HttpMethod.GET, "/async/deferred").buildEncoded(),
+                new DefaultExecutionContext()
+        )
+
+        then:
+        !future.done
+
+        when:
+        function.applicationContext.getBean(AsyncController).complete("deferred")
+        HttpResponseMessage responseMessage = future.get(5, TimeUnit.SECONDS)
+
+        then:
+        responseMessage.statusCode == HttpStatus.OK.code
+        responseMessage.body == "deferred"
+    }
+
+    void "errors are written to the response"() {
+        when:
+        HttpResponseMessage responseMessage = function.routeAsync(
+                function.request(HttpMethod.GET, "/async/missing").buildEncoded(),
+                new DefaultExecutionContext()
+        ).get(5, TimeUnit.SECONDS)
+
+        then:
+        responseMessage.statusCode == HttpStatus.NOT_FOUND.code
+    }
+}
@@ -0,0 +1,46 @@
+package io.micronaut.azure.function.http
+
+import io.micronaut.azure.function.AzureFunction
+import io.micronaut.azure.function.StartupProfiler
+import spock.lang.Specification
+
+class StartupProfilerSpec extends Specification {
+
+    void "the profiler is disabled by default"() {
+        given:
+        AzureHttpFunction function = new AzureHttpFunction()
+
+        expect:
+        !function.applicationContext.containsBean(StartupProfiler)
+
+        cleanup:
+        function.close()
+    }
+
+    void "the startup phases and the slowest beans are recorded"() {
+        given:
+        AzureHttpFunction function = new AzureHttpFunction(AzureFunction.defaultApplicationContextBuilder().properties(
+                "azure.function.startup-profiler.enabled": true,
+                "azure.function.startup-profiler.slowest-beans": 3
+        ))
+        StartupProfiler profiler = function.applicationContext.getBean(StartupProfiler)
+
+        expect:
+        profiler.timeline.is(function.startupTimeline)
+        profiler.timeline.phases.keySet() as List == ["build", "environment", "start", "inject", "http-handler", "routing"]
+        profiler.slowestBeans.size() == 3
+        profiler.slowestBeans[0].duration() >= profiler.slowestBeans[2].duration()
+
+        when:
+        String json = profiler.toJson()
+
+        then:
+        json.startsWith('{"event":"startup","totalMs":')
+        json.contains('"phases":{"build":')
+        json.contains('"slowestBeans":[{"bean":"' + profiler.slowestBeans[0].beanType() + '","ms":')
+        !json.contains("\n")
+
+        cleanup:
+        function.close()
+    }
+}
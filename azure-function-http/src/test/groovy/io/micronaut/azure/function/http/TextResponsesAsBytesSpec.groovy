@@ -0,0 +1,57 @@
+package io.micronaut.azure.function.http
+
+import com.microsoft.azure.functions.HttpMethod
+import com.microsoft.azure.functions.HttpResponseMessage
+import io.micronaut.azure.function.AzureFunction
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.MediaType
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class TextResponsesAsBytesSpec extends Specification {
+
+    void "text responses are passed as strings by default"() {
+        given:
+        AzureHttpFunction function = new AzureHttpFunction()
+
+        when:
+        HttpResponseMessage responseMessage = function
+                .request(HttpMethod.POST, "/parameters/stringBody")
+                .body("Fred")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN)
+                .invoke()
+
+        then:
+        responseMessage.statusCode == HttpStatus.OK.code
+        responseMessage.body == "Hello Fred"
+
+        cleanup:
+        function.close()
+    }
+
+    void "text responses are passed as the encoded bytes when enabled"() {
+        given:
+        AzureHttpFunction function = new AzureHttpFunction(
+                AzureFunction.defaultApplicationContextBuilder().properties(("azure.function.http.text-responses-as-bytes"): true)
+        )
+        def json = '{"name":"bär","age":30}'
+
+        when:
+        HttpResponseMessage responseMessage = function
+                .request(HttpMethod.POST, "/parameters/jsonBody")
+                .body(json)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .invoke()
+
+        then:
+        responseMessage.statusCode == HttpStatus.OK.code
+        responseMessage.getHeader(HttpHeaders.CONTENT_TYPE) == MediaType.APPLICATION_JSON
+        responseMessage.body instanceof byte[]
+        responseMessage.body == json.getBytes(StandardCharsets.UTF_8)
+
+        cleanup:
+        function.close()
+    }
+}
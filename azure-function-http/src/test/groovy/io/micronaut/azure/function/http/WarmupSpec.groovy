@@ -0,0 +1,60 @@
+package io.micronaut.azure.function.http
+
+import io.micronaut.azure.function.AzureFunction
+import spock.lang.Specification
+
+class WarmupSpec extends Specification {
+
+    void "the warmup requests are replayed when the function is created"() {
+        given:
+        int created = RequestScopeController.RequestBean.CREATED.get()
+
+        when:
+        AzureHttpFunction function = new AzureHttpFunction(AzureFunction.defaultApplicationContextBuilder().properties(
+                "azure.function.http.warmup.on-startup": true,
+                "azure.function.http.warmup.requests": ["GET /request-scope", "/request-scope"]
+        ))
+
+        then:
+        RequestScopeController.RequestBean.CREATED.get() == created + 2
+        function.startupTimeline.phases.containsKey("warmup")
+
+        cleanup:
+        function.close()
+    }
+
+    void "the warmup requests do not destroy the function bean with the function lifecycle"() {
+        when:
+        AzureHttpFunction function = new AzureHttpFunction(AzureFunction.defaultApplicationContextBuilder().properties(
+                "azure.function.http.request-lifecycle": "FUNCTION",
+                "azure.function.http.warmup.on-startup": true,
+                "azure.function.http.warmup.requests": ["GET /request-scope"]
+        ))
+
+        then:
+        function.applicationContext.findBean(AzureHttpFunction).orElse(null).is(function)
+        function.startupTimeline.phases.containsKey("warmup")
+
+        cleanup:
+        function.close()
+    }
+
+    void "failing warmup requests are ignored"() {
+        given:
+        AzureHttpFunction function = new AzureHttpFunction(AzureFunction.defaultApplicationContextBuilder().properties(
+                "azure.function.http.warmup.requests": ["FETCH /request-scope", "POST /parameters/jsonBody", "GET /missing"]
+        ))
+        int created = RequestScopeController.RequestBean.CREATED.get()
+
+        when:
+        function.warmup()
+
+        then:
+        noExceptionThrown()
+        RequestScopeController.RequestBean.CREATED.get() == created
+        !function.startupTimeline.phases.containsKey("warmup")
+
+        cleanup:
+        function.close()
+    }
+}
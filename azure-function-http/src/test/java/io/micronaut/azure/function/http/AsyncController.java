@@ -0,0 +1,36 @@
+package io.micronaut.azure.function.http;
+
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Produces;
+
+import java.util.concurrent.CompletableFuture;
+
+@Controller("/async")
+@Produces(MediaType.TEXT_PLAIN)
+public class AsyncController {
+
+    private volatile CompletableFuture<String> pending;
+
+    @Get("/immediate")
+    public CompletableFuture<String> immediate() {
+        return CompletableFuture.completedFuture("immediate");
+    }
+
+    @Get("/thread")
+    public CompletableFuture<String> thread() {
+        return CompletableFuture.completedFuture(Thread.currentThread().toString());
+    }
+
+    @Get("/deferred")
+    public CompletableFuture<String> deferred() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        pending = future;
+        return future;
+    }
+
+    public void complete(String value) {
+        pending.complete(value);
+    }
+}
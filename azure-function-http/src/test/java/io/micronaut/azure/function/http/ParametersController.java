@@ -6,6 +6,7 @@ import io.micronaut.http.*;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.annotation.*;
 import io.micronaut.http.cookie.Cookie;
+import io.micronaut.http.multipart.CompletedFileUpload;
 
 import java.io.IOException;
 import java.util.Optional;
@@ -40,6 +41,13 @@ public class ParametersController {
                 .cookie(Cookie.of("foo", "bar").httpOnly(true).domain("http://foo.com"));
     }
 
+    @Get("/multipleCookies")
+    io.micronaut.http.HttpResponse<String> multipleCookies() {
+        return io.micronaut.http.HttpResponse.ok("Cookies")
+                .cookie(Cookie.of("foo", "bar"))
+                .cookie(Cookie.of("baz", "qux"));
+    }
+
     @Get("/reqAndRes")
     HttpResponseMessage requestAndResponse(
             HttpRequestMessage<Optional<String>> request) throws IOException {
@@ -50,6 +58,16 @@ public class ParametersController {
         return builder.build();
     }
 
+    @Post(value = "/stringRequestMessage", consumes = MediaType.TEXT_PLAIN, produces = MediaType.TEXT_PLAIN)
+    String stringRequestMessage(HttpRequestMessage<Optional<String>> request) {
+        return "Hello " + request.getBody().orElse("");
+    }
+
+    @Post(value = "/bytesRequestMessage", consumes = MediaType.APPLICATION_OCTET_STREAM, produces = MediaType.TEXT_PLAIN)
+    String bytesRequestMessage(HttpRequestMessage<Optional<byte[]>> request) {
+        return "Bytes " + request.getBody().map(body -> body.length).orElse(0);
+    }
+
     @Get("/executionContext")
     @Status(HttpStatus.OK)
     void executionContextBinding(
@@ -80,6 +98,11 @@ public class ParametersController {
         return "Hello " + new String(body);
     }
 
+    @Get(value = "/bytesResponse", produces = MediaType.APPLICATION_OCTET_STREAM)
+    byte[] bytesResponse() {
+        return new byte[] {(byte) 0x89, 'P', 'N', 'G', (byte) 0xFF, 0};
+    }
+
     @Post(value = "/jsonBody", processes = "application/json")
     Person jsonBody(@Body Person body) {
         return body;
@@ -105,5 +128,11 @@ public class ParametersController {
         return out -> out.append("Hello ").append(text);
     }
 
-
-}
\ No newline at end of file
+    @Post(value = "/multipart", consumes = MediaType.MULTIPART_FORM_DATA, produces = MediaType.TEXT_PLAIN)
+    String multipart(@Part("foo") String foo,
+                     @Part("one") String one,
+                     @Part("two") CompletedFileUpload two,
+                     @Part("three") byte[] three) throws IOException {
+        return "Good: " + foo + " " + one + " " + two.getFilename() + "=" + new String(two.getBytes()) + " " + new String(three);
+    }
+}
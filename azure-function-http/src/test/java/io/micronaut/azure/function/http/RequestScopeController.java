@@ -0,0 +1,44 @@
+package io.micronaut.azure.function.http;
+
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.runtime.http.scope.RequestScope;
+import jakarta.annotation.PreDestroy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Controller("/request-scope")
+public class RequestScopeController {
+
+    private final RequestBean requestBean;
+
+    public RequestScopeController(RequestBean requestBean) {
+        this.requestBean = requestBean;
+    }
+
+    @Produces(MediaType.TEXT_PLAIN)
+    @Get
+    public String index() {
+        return requestBean.id();
+    }
+
+    @RequestScope
+    public static class RequestBean {
+
+        static final AtomicInteger CREATED = new AtomicInteger();
+        static final AtomicInteger DESTROYED = new AtomicInteger();
+
+        private final String id = "bean-" + CREATED.incrementAndGet();
+
+        public String id() {
+            return id;
+        }
+
+        @PreDestroy
+        void destroy() {
+            DESTROYED.incrementAndGet();
+        }
+    }
+}
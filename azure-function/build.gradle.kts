@@ -6,6 +6,8 @@ dependencies {
     annotationProcessor(mn.micronaut.inject.java)
     api(mn.micronaut.function)
     compileOnly(libs.managed.azure.functions.java.library)
+    compileOnly(mnCrac.micronaut.crac)
     testCompileOnly(mn.micronaut.inject.groovy)
     testAnnotationProcessor(mn.micronaut.inject.java)
+    testImplementation(mnCrac.micronaut.crac)
 }
@@ -37,6 +37,8 @@ public abstract class AzureFunction implements ApplicationContextProvider, Close
     protected static final Logger LOG = LoggerFactory.getLogger(AzureFunction.class);
     protected static ApplicationContext applicationContext;
 
+    private final StartupTimeline startupTimeline = new StartupTimeline();
+
     /**
      * Default constructor.
      */
@@ -49,6 +51,17 @@ public abstract class AzureFunction implements ApplicationContextProvider, Close
      * @param applicationContextBuilder ApplicationContext Builder;
      */
     protected AzureFunction(ApplicationContextBuilder applicationContextBuilder) {
+        this(applicationContextBuilder, true);
+    }
+
+    /**
+     *
+     * @param applicationContextBuilder ApplicationContext Builder;
+     * @param initialized Whether the function is initialized once this constructor returns. Subclasses that perform
+     *                    further initialization pass {@code false} and call {@link #startupComplete()} themselves.
+     * @since 5.8.0
+     */
+    protected AzureFunction(ApplicationContextBuilder applicationContextBuilder, boolean initialized) {
         if (LOG.isTraceEnabled()) {
             LOG.trace("Initializing Azure function");
         }
@@ -62,6 +75,10 @@ public abstract class AzureFunction implements ApplicationContextProvider, Close
         }
         registerApplicationContextShutDownHook();
         applicationContext.inject(this);
+        startupTimeline.mark("inject");
+        if (initialized) {
+            startupComplete();
+        }
     }
 
     /**
@@ -75,6 +92,31 @@ public abstract class AzureFunction implements ApplicationContextProvider, Close
         return ApplicationContext.builder(Environment.AZURE, Environment.FUNCTION).deduceEnvironment(false);
     }
 
+    /**
+     * The phases of the startup of this function. Subclasses may record further phases with
+     * {@link StartupTimeline#mark(String)}.
+     *
+     * @return The startup timeline
+     * @since 5.8.0
+     */
+    @NonNull
+    public StartupTimeline getStartupTimeline() {
+        return startupTimeline;
+    }
+
+    /**
+     * Called once the function is initialized. Logs the {@link StartupTimeline} at DEBUG level and completes the
+     * {@link StartupProfiler}, if enabled.
+     *
+     * @since 5.8.0
+     */
+    protected void startupComplete() {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Azure function initialized: {}", startupTimeline);
+        }
+        applicationContext.findBean(StartupProfiler.class).ifPresent(profiler -> profiler.complete(startupTimeline));
+    }
+
     @Override
     public ApplicationContext getApplicationContext() {
         LOG.trace("getApplicationContext() called. Returning: {}", applicationContext);
@@ -98,7 +140,11 @@ public abstract class AzureFunction implements ApplicationContextProvider, Close
     public void startApplicationContext(ApplicationContextBuilder applicationContextBuilder) {
         if (applicationContext == null) {
             applicationContext = (applicationContextBuilder != null ? applicationContextBuilder : defaultApplicationContextBuilder()).build();
+            startupTimeline.mark("build");
+            applicationContext.getEnvironment().start();
+            startupTimeline.mark("environment");
             applicationContext.start();
+            startupTimeline.mark("start");
         }
     }
 
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.crac.OrderedResource;
+import io.micronaut.runtime.context.scope.refresh.RefreshEvent;
+import jakarta.inject.Singleton;
+import org.crac.Context;
+import org.crac.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * CRaC resource for the application context of an {@link AzureFunction}. The function app settings of a restored
+ * function usually differ from the ones of the checkpointed process, so on restore the environment is refreshed and a
+ * {@link RefreshEvent} is published for the changed properties, which also recreates the
+ * {@link io.micronaut.runtime.context.scope.Refreshable} beans.
+ *
+ * @since 5.8.0
+ */
+@Internal
+@Singleton
+@Requires(classes = OrderedResource.class)
+final class AzureFunctionCracResource implements OrderedResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AzureFunctionCracResource.class);
+
+    private final ApplicationContext applicationContext;
+
+    /**
+     * @param applicationContext The application context
+     */
+    AzureFunctionCracResource(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Checkpointing Azure function application context");
+        }
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        Map<String, Object> changes = applicationContext.getEnvironment().refreshAndDiff();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Restored Azure function application context, {} properties changed", changes.size());
+        }
+        if (!changes.isEmpty()) {
+            applicationContext.publishEvent(new RefreshEvent(changes));
+        }
+    }
+}
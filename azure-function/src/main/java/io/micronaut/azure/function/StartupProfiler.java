@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.StringUtils;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Profiles the startup of an {@link AzureFunction}. The profiler records the {@link StartupTimeline} of the function
+ * and the slowest bean initializations. The time of a bean initialization is measured from the end of the previous
+ * initialization on the same thread, so it excludes the time spent initializing the dependencies of the bean.
+ *
+ * @since 5.8.0
+ */
+@Singleton
+@Requires(property = StartupProfilerConfigurationProperties.ENABLED, value = StringUtils.TRUE)
+public final class StartupProfiler implements BeanCreatedEventListener<Object> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StartupProfiler.class);
+    private static final Comparator<BeanInitialization> BY_DURATION = Comparator.comparing(BeanInitialization::duration);
+
+    private final StartupProfilerConfigurationProperties configuration;
+    private final long createdNanos = System.nanoTime();
+    private final Map<Thread, Long> lastInitializationNanos = new ConcurrentHashMap<>();
+    private final PriorityQueue<BeanInitialization> slowestBeans = new PriorityQueue<>(BY_DURATION);
+    private volatile boolean recording = true;
+    private StartupTimeline timeline;
+
+    /**
+     * @param configuration The profiler configuration
+     */
+    StartupProfiler(StartupProfilerConfigurationProperties configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public Object onCreated(@NonNull BeanCreatedEvent<Object> event) {
+        if (recording) {
+            long now = System.nanoTime();
+            Long previous = lastInitializationNanos.put(Thread.currentThread(), now);
+            long duration = now - (previous != null ? previous : createdNanos);
+            record(new BeanInitialization(event.getBeanDefinition().getBeanType().getName(), Duration.ofNanos(duration)));
+        }
+        return event.getBean();
+    }
+
+    /**
+     * @return The timeline of the function whose startup completed last, if any
+     */
+    @Nullable
+    public synchronized StartupTimeline getTimeline() {
+        return timeline;
+    }
+
+    /**
+     * @return The slowest bean initializations recorded during startup, slowest first
+     */
+    @NonNull
+    public synchronized List<BeanInitialization> getSlowestBeans() {
+        List<BeanInitialization> beans = new ArrayList<>(slowestBeans);
+        beans.sort(BY_DURATION.reversed());
+        return beans;
+    }
+
+    /**
+     * Completes the profile once the startup of a function has completed. Bean initializations are no longer
+     * recorded afterward and, if configured, the profile is logged.
+     *
+     * @param startupTimeline The timeline of the function
+     */
+    public void complete(@NonNull StartupTimeline startupTimeline) {
+        recording = false;
+        lastInitializationNanos.clear();
+        synchronized (this) {
+            this.timeline = startupTimeline;
+        }
+        if (configuration.isLog() && LOG.isInfoEnabled()) {
+            LOG.info(toJson());
+        }
+    }
+
+    /**
+     * @return The profile as a single line JSON object
+     */
+    @NonNull
+    public synchronized String toJson() {
+        StringBuilder json = new StringBuilder("{\"event\":\"startup\"");
+        if (timeline != null) {
+            json.append(",\"totalMs\":").append(timeline.getTotal().toMillis()).append(",\"phases\":{");
+            boolean first = true;
+            for (Map.Entry<String, Duration> phase : timeline.getPhases().entrySet()) {
+                if (!first) {
+                    json.append(',');
+                }
+                appendString(json, phase.getKey()).append(':').append(phase.getValue().toMillis());
+                first = false;
+            }
+            json.append('}');
+        }
+        json.append(",\"slowestBeans\":[");
+        boolean first = true;
+        for (BeanInitialization bean : getSlowestBeans()) {
+            if (!first) {
+                json.append(',');
+            }
+            appendString(json.append("{\"bean\":"), bean.beanType()).append(",\"ms\":").append(bean.duration().toMillis()).append('}');
+            first = false;
+        }
+        return json.append("]}").toString();
+    }
+
+    private synchronized void record(BeanInitialization initialization) {
+        int limit = configuration.getSlowestBeans();
+        if (limit <= 0) {
+            return;
+        }
+        if (slowestBeans.size() < limit) {
+            slowestBeans.add(initialization);
+        } else if (BY_DURATION.compare(initialization, slowestBeans.peek()) > 0) {
+            slowestBeans.poll();
+            slowestBeans.add(initialization);
+        }
+    }
+
+    private static StringBuilder appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\');
+            }
+            json.append(c);
+        }
+        return json.append('"');
+    }
+
+    /**
+     * The initialization of a bean.
+     *
+     * @param beanType The type of the bean
+     * @param duration The time spent initializing the bean, excluding its dependencies
+     */
+    public record BeanInitialization(@NonNull String beanType, @NonNull Duration duration) {
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.context.env.Environment;
+
+/**
+ * Configuration for the {@link StartupProfiler}.
+ *
+ * @since 5.8.0
+ */
+@ConfigurationProperties(StartupProfilerConfigurationProperties.PREFIX)
+public class StartupProfilerConfigurationProperties {
+
+    /**
+     * Prefix.
+     */
+    public static final String PREFIX = Environment.AZURE + ".function.startup-profiler";
+
+    /**
+     * Whether the profiler is enabled.
+     */
+    public static final String ENABLED = PREFIX + ".enabled";
+
+    /**
+     * The default number of bean initializations reported.
+     */
+    public static final int DEFAULT_SLOWEST_BEANS = 10;
+
+    private boolean enabled;
+    private boolean log;
+    private int slowestBeans = DEFAULT_SLOWEST_BEANS;
+
+    /**
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether the startup of the function is profiled. Default value {@code false}.
+     *
+     * @param enabled true if enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return true if the profile is logged
+     */
+    public boolean isLog() {
+        return log;
+    }
+
+    /**
+     * Whether the profile is logged as a single JSON line at INFO level once the function has started. Default value
+     * {@code false}.
+     *
+     * @param log true if the profile is logged
+     */
+    public void setLog(boolean log) {
+        this.log = log;
+    }
+
+    /**
+     * @return the number of bean initializations reported
+     */
+    public int getSlowestBeans() {
+        return slowestBeans;
+    }
+
+    /**
+     * Sets the number of bean initializations reported, slowest first. Default value
+     * {@value #DEFAULT_SLOWEST_BEANS}.
+     *
+     * @param slowestBeans the number of bean initializations reported
+     */
+    public void setSlowestBeans(int slowestBeans) {
+        this.slowestBeans = slowestBeans;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The phases of the startup of an {@link AzureFunction} and how long each of them took.
+ *
+ * @since 5.8.0
+ */
+public final class StartupTimeline {
+
+    private final Map<String, Duration> phases = new LinkedHashMap<>();
+    private final long startNanos = System.nanoTime();
+    private long lastNanos = startNanos;
+
+    /**
+     * Records the end of a phase. The phase started when the previous phase ended, or when the timeline was created.
+     *
+     * @param phase The name of the phase
+     */
+    public synchronized void mark(@NonNull String phase) {
+        long now = System.nanoTime();
+        phases.merge(phase, Duration.ofNanos(now - lastNanos), Duration::plus);
+        lastNanos = now;
+    }
+
+    /**
+     * @return The duration of each phase, in the order the phases ended
+     */
+    @NonNull
+    public synchronized Map<String, Duration> getPhases() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(phases));
+    }
+
+    /**
+     * @return The time elapsed between the creation of the timeline and the end of the last phase
+     */
+    @NonNull
+    public synchronized Duration getTotal() {
+        return Duration.ofNanos(lastNanos - startNanos);
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, Duration> phase : phases.entrySet()) {
+            builder.append(phase.getKey()).append('=').append(phase.getValue().toMillis()).append("ms, ");
+        }
+        return builder.append("total=").append(getTotal().toMillis()).append("ms").toString();
+    }
+}
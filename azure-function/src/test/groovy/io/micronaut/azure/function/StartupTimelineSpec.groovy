@@ -0,0 +1,24 @@
+package io.micronaut.azure.function
+
+import spock.lang.Specification
+
+import java.time.Duration
+
+class StartupTimelineSpec extends Specification {
+
+    void "phases are recorded in order and measured from the end of the previous phase"() {
+        given:
+        StartupTimeline timeline = new StartupTimeline()
+
+        when:
+        timeline.mark("build")
+        Thread.sleep(20)
+        timeline.mark("start")
+
+        then:
+        timeline.phases.keySet() as List == ["build", "start"]
+        timeline.phases.start >= Duration.ofMillis(20)
+        timeline.total >= timeline.phases.build + timeline.phases.start
+        timeline.toString() ==~ /build=\d+ms, start=\d+ms, total=\d+ms/
+    }
+}
@@ -15,21 +15,26 @@
  */
 package io.micronaut.azure.logging;
 
+import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.AppenderBase;
 import ch.qos.logback.core.encoder.Encoder;
-import ch.qos.logback.core.net.QueueFactory;
 import ch.qos.logback.core.spi.AppenderAttachable;
-import ch.qos.logback.core.util.Duration;
 import io.micronaut.core.annotation.Internal;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.Future;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -43,21 +48,62 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 public class AzureAppender extends AppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
 
     private static final int DEFAULT_QUEUE_SIZE = 128;
-    private static final int DEFAULT_EVENT_DELAY_TIMEOUT = 100;
     private static final int DEFAULT_MAX_BATCH_SIZE = 128;
     private static final long DEFAULT_PUBLISH_PERIOD = 100;
+    private static final long DEFAULT_OVERFLOW_TIMEOUT = 100;
+    // the Logs Ingestion API rejects requests larger than 1 MB
+    private static final int DEFAULT_MAX_BATCH_BYTES = 1_000_000;
+    // the brackets of the JSON array
+    private static final int BATCH_OVERHEAD = 2;
+    // the property names, timestamp, quotes, braces and separator of an entry
+    private static final int ENTRY_OVERHEAD = 72;
+    private static final long BLOCK_PARK_NANOS = 50_000;
+    private static final int MAX_EVICTIONS = 8;
+    private static final long STOP_TIMEOUT = 1000;
+    private static final int DEFAULT_MAX_IN_FLIGHT_UPLOADS = 1;
+    private static final int DEFAULT_MAX_RETRIES = 3;
+    private static final long DEFAULT_RETRY_INITIAL_DELAY = 500;
+    private static final long DEFAULT_RETRY_MAX_DELAY = 30_000;
+    private static final int DEFAULT_MAX_RETRY_BUFFER_SIZE = 1024;
+    private static final int DEFAULT_CIRCUIT_BREAKER_THRESHOLD = 5;
+    private static final long DEFAULT_CIRCUIT_BREAKER_DURATION = 30_000;
+    private static final int MAX_BACKOFF_SHIFT = 20;
 
-    private final QueueFactory queueFactory = new QueueFactory();
-    private final Duration eventDelayLimit = new Duration(DEFAULT_EVENT_DELAY_TIMEOUT);
     private final List<String> blackListLoggerNames = new ArrayList<>();
+    private final LongAdder droppedNewestCount = new LongAdder();
+    private final LongAdder droppedOldestCount = new LongAdder();
+    private final LongAdder blockedCount = new LongAdder();
+    private final LongAdder spilledCount = new LongAdder();
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder uploadFailedCount = new LongAdder();
+    private final Queue<RetryBatch> retryBuffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger retryBufferedEvents = new AtomicInteger();
     private Encoder<ILoggingEvent> encoder;
-    private Future<?> task;
-    private BlockingDeque<ILoggingEvent> deque;
+    private Thread dispatcher;
+    private Semaphore uploadPermits;
+    private CircuitBreaker circuitBreaker;
+    private volatile boolean dispatching;
+    private volatile boolean dispatcherIdle;
+    private volatile boolean dispatcherLingering;
+    private RingBuffer<ILoggingEvent> queue;
     private String source;
     private String subject;
     private int queueSize = DEFAULT_QUEUE_SIZE;
     private long publishPeriod = DEFAULT_PUBLISH_PERIOD;
     private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private int maxBatchBytes = DEFAULT_MAX_BATCH_BYTES;
+    private int maxInFlightUploads = DEFAULT_MAX_IN_FLIGHT_UPLOADS;
+    private int entryOverhead = ENTRY_OVERHEAD;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.EMERGENCY_APPENDER;
+    private long overflowTimeout = DEFAULT_OVERFLOW_TIMEOUT;
+    private Level overflowLevel = Level.ERROR;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    private long retryInitialDelay = DEFAULT_RETRY_INITIAL_DELAY;
+    private long retryMaxDelay = DEFAULT_RETRY_MAX_DELAY;
+    private int maxRetryBufferSize = DEFAULT_MAX_RETRY_BUFFER_SIZE;
+    private int circuitBreakerThreshold = DEFAULT_CIRCUIT_BREAKER_THRESHOLD;
+    private long circuitBreakerDuration = DEFAULT_CIRCUIT_BREAKER_DURATION;
+    private volatile boolean overflowReported;
     private Appender<ILoggingEvent> emergencyAppender;
     private boolean configuredSuccessfully = false;
 
@@ -76,6 +122,10 @@ public class AzureAppender extends AppenderBase<ILoggingEvent> implements Append
     }
 
     /**
+     * The maximum number of events waiting to be published. The queue is allocated upfront, its arrays being rounded
+     * up to a power of two, but it never holds more than this number of events. A size of zero is handled as a size of
+     * one.
+     *
      * @param queueSize the size
      */
     public void setQueueSize(int queueSize) {
@@ -90,6 +140,9 @@ public class AzureAppender extends AppenderBase<ILoggingEvent> implements Append
     }
 
     /**
+     * Sets the maximum time in ms a queued event waits for a batch to fill before it is published. A full batch is
+     * published right away, and nothing runs while the queue is empty.
+     *
      * @param publishPeriod publish period
      */
     public void setPublishPeriod(long publishPeriod) {
@@ -110,6 +163,244 @@ public class AzureAppender extends AppenderBase<ILoggingEvent> implements Append
         this.maxBatchSize = maxBatchSize;
     }
 
+    /**
+     * @return the maximum size in bytes of the JSON payload of a batch
+     */
+    public int getMaxBatchBytes() {
+        return maxBatchBytes;
+    }
+
+    /**
+     * @param maxBatchBytes the maximum size in bytes of the JSON payload of a batch
+     */
+    public void setMaxBatchBytes(int maxBatchBytes) {
+        this.maxBatchBytes = maxBatchBytes;
+    }
+
+    /**
+     * @return the maximum number of batches being uploaded at the same time
+     */
+    public int getMaxInFlightUploads() {
+        return maxInFlightUploads;
+    }
+
+    /**
+     * Sets the maximum number of batches being uploaded at the same time. Batches are always sent in the order of
+     * their events, but with more than one upload in flight a batch may be ingested before the previous one.
+     *
+     * @param maxInFlightUploads the maximum number of concurrent uploads
+     */
+    public void setMaxInFlightUploads(int maxInFlightUploads) {
+        this.maxInFlightUploads = maxInFlightUploads;
+    }
+
+    /**
+     * @return what is done with events appended while the queue is full
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * @param overflowPolicy what is done with events appended while the queue is full
+     */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * @return the time in ms an event waits for a free slot with {@link OverflowPolicy#BLOCK}
+     */
+    public long getOverflowTimeout() {
+        return overflowTimeout;
+    }
+
+    /**
+     * @param overflowTimeout the time in ms an event waits for a free slot with {@link OverflowPolicy#BLOCK}
+     */
+    public void setOverflowTimeout(long overflowTimeout) {
+        this.overflowTimeout = overflowTimeout;
+    }
+
+    /**
+     * @return the lowest level of the events kept with {@link OverflowPolicy#DROP_BELOW_LEVEL}
+     */
+    public Level getOverflowLevel() {
+        return overflowLevel;
+    }
+
+    /**
+     * @param overflowLevel the lowest level of the events kept with {@link OverflowPolicy#DROP_BELOW_LEVEL}
+     */
+    public void setOverflowLevel(Level overflowLevel) {
+        this.overflowLevel = overflowLevel;
+    }
+
+    /**
+     * @return the maximum number of times a failed batch is uploaded again
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Sets the maximum number of times a batch is uploaded again after a transient failure, such as a timeout or a
+     * {@code 429} or {@code 5xx} response. A batch held back while the circuit is open uses a retry as well. The
+     * HTTP pipeline of the Logs Ingestion client does not retry on its own. Zero disables retries.
+     *
+     * @param maxRetries the maximum number of retries
+     */
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * @return the delay in ms before the first retry
+     */
+    public long getRetryInitialDelay() {
+        return retryInitialDelay;
+    }
+
+    /**
+     * Sets the delay in ms before the first retry. The delay doubles with every retry, up to {@code retryMaxDelay},
+     * and a random jitter of up to half the delay is subtracted. A {@code Retry-After} header sent by the endpoint
+     * replaces the computed delay, but is capped by {@code retryMaxDelay} as well.
+     *
+     * @param retryInitialDelay the delay in ms before the first retry
+     */
+    public void setRetryInitialDelay(long retryInitialDelay) {
+        this.retryInitialDelay = retryInitialDelay;
+    }
+
+    /**
+     * @return the maximum delay in ms between retries
+     */
+    public long getRetryMaxDelay() {
+        return retryMaxDelay;
+    }
+
+    /**
+     * Sets the maximum delay in ms between retries, which also caps the delay requested with {@code Retry-After}.
+     *
+     * @param retryMaxDelay the maximum delay in ms between retries
+     */
+    public void setRetryMaxDelay(long retryMaxDelay) {
+        this.retryMaxDelay = retryMaxDelay;
+    }
+
+    /**
+     * @return the maximum number of events waiting to be uploaded again
+     */
+    public int getMaxRetryBufferSize() {
+        return maxRetryBufferSize;
+    }
+
+    /**
+     * Sets the maximum number of events waiting to be uploaded again. Failed batches that do not fit are passed to
+     * the emergency appender, if any, otherwise they are dropped.
+     *
+     * @param maxRetryBufferSize the maximum number of events waiting for a retry
+     */
+    public void setMaxRetryBufferSize(int maxRetryBufferSize) {
+        this.maxRetryBufferSize = maxRetryBufferSize;
+    }
+
+    /**
+     * @return the number of consecutive failed uploads opening the circuit
+     */
+    public int getCircuitBreakerThreshold() {
+        return circuitBreakerThreshold;
+    }
+
+    /**
+     * Sets the number of consecutive failed uploads after which no upload is sent for
+     * {@code circuitBreakerDuration} ms. Batches published meanwhile wait in the retry buffer. A single trial upload
+     * is then sent, and the other batches wait until its success closes the circuit.
+     *
+     * @param circuitBreakerThreshold the number of consecutive failed uploads opening the circuit
+     */
+    public void setCircuitBreakerThreshold(int circuitBreakerThreshold) {
+        this.circuitBreakerThreshold = circuitBreakerThreshold;
+    }
+
+    /**
+     * @return the time in ms the circuit stays open
+     */
+    public long getCircuitBreakerDuration() {
+        return circuitBreakerDuration;
+    }
+
+    /**
+     * @param circuitBreakerDuration the time in ms the circuit stays open
+     */
+    public void setCircuitBreakerDuration(long circuitBreakerDuration) {
+        this.circuitBreakerDuration = circuitBreakerDuration;
+    }
+
+    /**
+     * @return the number of appended events dropped because the queue was full
+     */
+    public long getDroppedNewestCount() {
+        return droppedNewestCount.sum();
+    }
+
+    /**
+     * @return the number of queued events evicted to make room for appended ones
+     */
+    public long getDroppedOldestCount() {
+        return droppedOldestCount.sum();
+    }
+
+    /**
+     * @return the number of appended events that waited for a free slot
+     */
+    public long getBlockedCount() {
+        return blockedCount.sum();
+    }
+
+    /**
+     * @return the number of appended events passed to the emergency appender because the queue was full
+     */
+    public long getSpilledCount() {
+        return spilledCount.sum();
+    }
+
+    /**
+     * @return the number of uploads that were retries of failed batches
+     */
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    /**
+     * @return the number of events that could not be uploaded, because the failure was not transient, the retries
+     * were exhausted or the retry buffer was full
+     */
+    public long getUploadFailedCount() {
+        return uploadFailedCount.sum();
+    }
+
+    /**
+     * @return the number of events waiting to be uploaded again
+     */
+    public int getRetryBufferedCount() {
+        return retryBufferedEvents.get();
+    }
+
+    /**
+     * @return the number of times the circuit opened
+     */
+    public long getCircuitBreakerOpenCount() {
+        return circuitBreaker == null ? 0 : circuitBreaker.getOpenCount();
+    }
+
+    /**
+     * @return the state of the circuit: {@code CLOSED}, {@code OPEN} or {@code HALF_OPEN}
+     */
+    public String getCircuitBreakerState() {
+        return circuitBreaker == null ? CircuitBreaker.State.CLOSED.name() : circuitBreaker.getState().name();
+    }
+
     /**
      * @return the source
      */
@@ -177,6 +468,16 @@ public class AzureAppender extends AppenderBase<ILoggingEvent> implements Append
             return;
         }
 
+        if (maxBatchBytes <= BATCH_OVERHEAD + ENTRY_OVERHEAD) {
+            addError("Max batch bytes must be greater than " + (BATCH_OVERHEAD + ENTRY_OVERHEAD));
+            return;
+        }
+
+        if (maxInFlightUploads <= 0) {
+            addError("Max in-flight uploads must be greater than zero");
+            return;
+        }
+
         if (maxBatchSize <= 0) {
             addError("Max Batch size must be greater than zero");
             return;
@@ -186,15 +487,49 @@ public class AzureAppender extends AppenderBase<ILoggingEvent> implements Append
             emergencyAppender.start();
         }
 
-        deque = queueFactory.newLinkedBlockingDeque(queueSize);
+        if (overflowPolicy == null) {
+            addError("Overflow policy must be set");
+            return;
+        }
 
-        task = getContext().getScheduledExecutorService().scheduleAtFixedRate(() -> {
-            try {
-                dispatchEvents();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }, 0, publishPeriod, MILLISECONDS);
+        if (overflowPolicy == OverflowPolicy.BLOCK && overflowTimeout <= 0) {
+            addError("Overflow timeout must be greater than zero");
+            return;
+        }
+
+        if (overflowPolicy == OverflowPolicy.DROP_BELOW_LEVEL && overflowLevel == null) {
+            addError("Overflow level must be set");
+            return;
+        }
+
+        if (maxRetries < 0) {
+            addError("Max retries must not be negative");
+            return;
+        }
+
+        if (retryInitialDelay <= 0 || retryMaxDelay < retryInitialDelay) {
+            addError("Retry initial delay must be greater than zero and not exceed the retry max delay");
+            return;
+        }
+
+        if (maxRetryBufferSize < 0) {
+            addError("Max retry buffer size must not be negative");
+            return;
+        }
+
+        if (circuitBreakerThreshold <= 0 || circuitBreakerDuration <= 0) {
+            addError("Circuit breaker threshold and duration must be greater than zero");
+            return;
+        }
+
+        queue = new RingBuffer<>(Math.max(queueSize, 1));
+
+        circuitBreaker = new CircuitBreaker(circuitBreakerThreshold, circuitBreakerDuration);
+        uploadPermits = new Semaphore(maxInFlightUploads);
+        dispatching = true;
+        dispatcher = new Thread(this::dispatchLoop, "azure-appender-" + getName());
+        dispatcher.setDaemon(true);
+        dispatcher.start();
 
         super.start();
     }
@@ -204,7 +539,13 @@ public class AzureAppender extends AppenderBase<ILoggingEvent> implements Append
         if (!isStarted()) {
             return;
         }
-        task.cancel(true);
+        dispatching = false;
+        LockSupport.unpark(dispatcher);
+        try {
+            dispatcher.join(STOP_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
         super.stop();
     }
 
@@ -214,18 +555,10 @@ public class AzureAppender extends AppenderBase<ILoggingEvent> implements Append
             return;
         }
 
-        try {
-            boolean inserted = deque.offer(event, eventDelayLimit.getMilliseconds(), MILLISECONDS);
-            if (!inserted) {
-                addInfo("Dropping event due to timeout limit of [" + eventDelayLimit + "] being exceeded");
-                if (emergencyAppender != null) {
-                    emergencyAppender.doAppend(event);
-                }
-            }
-        } catch (InterruptedException e) {
-            addError("Interrupted while appending event to SocketAppender", e);
-            Thread.currentThread().interrupt();
+        if (!queue.offer(event)) {
+            overflow(event);
         }
+        wakeDispatcher();
     }
 
     @Override
@@ -285,43 +618,373 @@ public class AzureAppender extends AppenderBase<ILoggingEvent> implements Append
         return false;
     }
 
-    private void dispatchEvents() throws InterruptedException {
-        if (!configuredSuccessfully && !tryToConfigure()) {
-            return;
+    private void overflow(ILoggingEvent event) {
+        if (!overflowReported) {
+            overflowReported = true;
+            addWarn("The queue of [" + queue.capacity() + "] events is full, applying the " + overflowPolicy + " overflow policy");
+        }
+        switch (overflowPolicy) {
+            case DROP_NEWEST -> droppedNewestCount.increment();
+            case DROP_OLDEST -> replaceOldest(event);
+            case BLOCK -> block(event);
+            case DROP_BELOW_LEVEL -> {
+                if (event.getLevel() != null && event.getLevel().isGreaterOrEqual(overflowLevel)) {
+                    replaceOldest(event);
+                } else {
+                    droppedNewestCount.increment();
+                }
+            }
+            default -> spill(event);
+        }
+    }
+
+    private void replaceOldest(ILoggingEvent event) {
+        for (int i = 0; i < MAX_EVICTIONS; i++) {
+            if (queue.poll() != null) {
+                droppedOldestCount.increment();
+            }
+            if (queue.offer(event)) {
+                return;
+            }
+        }
+        droppedNewestCount.increment();
+    }
+
+    private void block(ILoggingEvent event) {
+        blockedCount.increment();
+        long deadline = System.nanoTime() + MILLISECONDS.toNanos(overflowTimeout);
+        while (System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (queue.offer(event)) {
+                return;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+        }
+        spill(event);
+    }
+
+    private void spill(ILoggingEvent event) {
+        if (emergencyAppender != null) {
+            spilledCount.increment();
+            emergencyAppender.doAppend(event);
+        } else {
+            droppedNewestCount.increment();
+        }
+    }
+
+    private void wakeDispatcher() {
+        if (dispatcherIdle || (dispatcherLingering && queue.size() >= maxBatchSize)) {
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    /**
+     * Publishes the queued events until the appender is stopped. The dispatcher sleeps while the queue is empty,
+     * waits up to {@code publishPeriod} ms for a batch to fill once an event is queued, and keeps publishing without
+     * waiting while full batches are queued. Failed batches are uploaded again once their retry delay has elapsed.
+     */
+    private void dispatchLoop() {
+        while (dispatching) {
+            long retryWait = dispatchRetries();
+            if (queue.isEmpty()) {
+                dispatcherIdle = true;
+                // an event queued before the flag was set is seen here, a later one wakes the dispatcher
+                if (queue.isEmpty() && dispatching) {
+                    if (retryWait == Long.MAX_VALUE) {
+                        LockSupport.park(this);
+                    } else {
+                        LockSupport.parkNanos(this, retryWait);
+                    }
+                }
+                dispatcherIdle = false;
+            } else if (!configuredSuccessfully && !tryToConfigure()) {
+                LockSupport.parkNanos(this, MILLISECONDS.toNanos(publishPeriod));
+            } else {
+                awaitBatch();
+                dispatchEvents();
+            }
+        }
+        if (configuredSuccessfully || tryToConfigure()) {
+            // publishes what was queued before the appender stopped
+            dispatchEvents();
+        }
+        awaitUploads();
+        // the retries still pending cannot be waited for
+        while (!retryBuffer.isEmpty()) {
+            RetryBatch batch = retryBuffer.poll();
+            if (batch != null) {
+                retryBufferedEvents.addAndGet(-batch.events().size());
+                uploadFailed(batch.events(), null);
+            }
         }
+    }
+
+    /**
+     * Uploads the failed batches whose retry delay has elapsed.
+     *
+     * @return the time in ns until the next retry is due, or {@link Long#MAX_VALUE} if there is none
+     */
+    private long dispatchRetries() {
+        if (retryBuffer.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+        long now = System.nanoTime();
+        long next = Long.MAX_VALUE;
+        for (Iterator<RetryBatch> it = retryBuffer.iterator(); it.hasNext(); ) {
+            RetryBatch batch = it.next();
+            long wait = batch.retryAt() - now;
+            if (wait > 0) {
+                next = Math.min(next, wait);
+            } else {
+                // only the dispatcher removes batches
+                it.remove();
+                retryBufferedEvents.addAndGet(-batch.events().size());
+                upload(batch.entries(), batch.events(), batch.attempt());
+            }
+        }
+        return next;
+    }
+
+    private void awaitBatch() {
+        long deadline = System.nanoTime() + MILLISECONDS.toNanos(publishPeriod);
+        while (dispatching && queue.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            dispatcherLingering = true;
+            if (queue.size() < maxBatchSize) {
+                LockSupport.parkNanos(this, remaining);
+            }
+            dispatcherLingering = false;
+        }
+    }
 
+    private void dispatchEvents() {
+        // drains the events queued when the tick started, in as many batches as needed
+        int remaining = queue.size();
         List<Object> entries = new ArrayList<>(maxBatchSize);
         List<ILoggingEvent> events = new ArrayList<>(maxBatchSize);
+        long batchBytes = BATCH_OVERHEAD;
 
-        while (!deque.isEmpty() && entries.size() < maxBatchSize) {
-            var event = deque.takeFirst();
+        while (remaining-- > 0) {
+            ILoggingEvent event = queue.poll();
+            if (event == null) {
+                break;
+            }
+            byte[] data = encoder.encode(event);
+            int entryBytes = entrySize(data);
+            if (BATCH_OVERHEAD + entryBytes > maxBatchBytes) {
+                addWarn("Log event of [" + entryBytes + "] bytes exceeds the maximum batch size of [" + maxBatchBytes + "] bytes");
+                if (emergencyAppender != null) {
+                    emergencyAppender.doAppend(event);
+                }
+                continue;
+            }
+            if (entries.size() == maxBatchSize || batchBytes + entryBytes > maxBatchBytes) {
+                upload(entries, events);
+                entries = new ArrayList<>(maxBatchSize);
+                events = new ArrayList<>(maxBatchSize);
+                batchBytes = BATCH_OVERHEAD;
+            }
             events.add(event);
-            entries.add(new LogEntry(new String(encoder.encode(event), UTF_8),
-                event.getTimeStamp(), source, subject));
+            entries.add(new LogEntry(new String(data, UTF_8), event.getTimeStamp(), source, subject));
+            batchBytes += entryBytes;
+        }
+
+        if (!entries.isEmpty()) {
+            upload(entries, events);
+        }
+    }
+
+    /**
+     * Starts uploading a batch once fewer than {@code maxInFlightUploads} uploads are in flight. Only the dispatcher
+     * waits for a permit, so batches are started in the order of their events.
+     */
+    private void upload(List<Object> entries, List<ILoggingEvent> events) {
+        upload(entries, events, 0);
+    }
+
+    private void upload(List<Object> entries, List<ILoggingEvent> events, int attempt) {
+        try {
+            uploadPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            uploadFailed(events, e);
+            return;
         }
+        if (!circuitBreaker.allowRequest()) {
+            uploadPermits.release();
+            circuitRejected(entries, events, attempt);
+            return;
+        }
+        if (attempt > 0) {
+            retryCount.increment();
+        }
+        CompletableFuture<Boolean> upload;
+        try {
+            upload = AzureLoggingClient.sendLogsAsync(getName(), entries);
+        } catch (Exception e) {
+            upload = CompletableFuture.failedFuture(e);
+        }
+        upload.whenComplete((sent, error) -> {
+            uploadPermits.release();
+            if (error == null) {
+                if (sent) {
+                    circuitBreaker.success();
+                } else {
+                    circuitBreaker.release();
+                    uploadFailed(events, null);
+                }
+            } else {
+                handleUploadError(entries, events, attempt, UploadErrors.unwrap(error));
+            }
+        });
+    }
+
+    /**
+     * Schedules a retry of the logs that failed with a transient error. When the Logs Ingestion client reports a
+     * partial failure, only the logs it could not upload are retried.
+     */
+    private void handleUploadError(List<Object> entries, List<ILoggingEvent> events, int attempt, Throwable error) {
+        if (!UploadErrors.isTransient(error)) {
+            // the endpoint is up but rejected the batch
+            circuitBreaker.success();
+            uploadFailed(events, error);
+            return;
+        }
+        circuitBreaker.failure();
+        List<Object> failedEntries = entries;
+        List<ILoggingEvent> failedEvents = events;
+        List<Object> failedLogs = UploadErrors.failedLogs(error);
+        if (failedLogs != null && !failedLogs.isEmpty() && failedLogs.size() < entries.size()) {
+            List<Object> partialEntries = new ArrayList<>(failedLogs.size());
+            List<ILoggingEvent> partialEvents = new ArrayList<>(failedLogs.size());
+            for (int i = 0; i < entries.size(); i++) {
+                Object entry = entries.get(i);
+                if (containsSame(failedLogs, entry)) {
+                    partialEntries.add(entry);
+                    partialEvents.add(events.get(i));
+                }
+            }
+            // the whole batch is retried if the failed logs are not the entries that were sent
+            if (!partialEntries.isEmpty()) {
+                failedEntries = partialEntries;
+                failedEvents = partialEvents;
+            }
+        }
+        if (attempt >= maxRetries) {
+            addError("Sending log request failed after [" + attempt + "] retries", error);
+            uploadFailed(failedEvents);
+            return;
+        }
+        retryLater(failedEntries, failedEvents, attempt + 1, retryDelay(attempt, UploadErrors.retryAfterNanos(error)), error);
+    }
+
+    /**
+     * A batch rejected while the circuit is open uses a retry and waits for the circuit to let a trial upload
+     * through, so batches are dropped after {@code maxRetries} open periods. A batch rejected while the trial upload is
+     * in flight waits {@code retryInitialDelay} ms without using a retry.
+     */
+    private void circuitRejected(List<Object> entries, List<ILoggingEvent> events, int attempt) {
+        long untilHalfOpen = circuitBreaker.nanosUntilHalfOpen();
+        if (untilHalfOpen == 0) {
+            retryLater(entries, events, attempt, MILLISECONDS.toNanos(retryInitialDelay), null);
+        } else if (attempt >= maxRetries) {
+            addError("Sending log request failed: the circuit stayed open after [" + attempt + "] retries");
+            uploadFailed(events);
+        } else {
+            retryLater(entries, events, attempt + 1, untilHalfOpen, null);
+        }
+    }
+
+    private void retryLater(List<Object> entries, List<ILoggingEvent> events, int attempt, long delayNanos, Throwable error) {
+        if (retryBufferedEvents.addAndGet(events.size()) > maxRetryBufferSize) {
+            retryBufferedEvents.addAndGet(-events.size());
+            if (error != null) {
+                addError("Sending log request failed and the retry buffer of [" + maxRetryBufferSize + "] events is full", error);
+            } else {
+                addError("The retry buffer of [" + maxRetryBufferSize + "] events is full");
+            }
+            uploadFailed(events);
+            return;
+        }
+        retryBuffer.add(new RetryBatch(entries, events, attempt, System.nanoTime() + delayNanos));
+        LockSupport.unpark(dispatcher);
+    }
+
+    /**
+     * @param attempt the number of retries already made
+     * @param retryAfterNanos the delay requested by the endpoint, or a negative value
+     * @return the delay in ns before the next retry, with exponential backoff and jitter, at most {@code retryMaxDelay}
+     */
+    private long retryDelay(int attempt, long retryAfterNanos) {
+        if (retryAfterNanos >= 0) {
+            return Math.min(retryAfterNanos, MILLISECONDS.toNanos(retryMaxDelay));
+        }
+        long delay = Math.min(retryMaxDelay, retryInitialDelay << Math.min(attempt, MAX_BACKOFF_SHIFT));
+        long jittered = delay - ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        return MILLISECONDS.toNanos(jittered);
+    }
+
+    private static boolean containsSame(List<Object> logs, Object entry) {
+        for (Object log : logs) {
+            if (log == entry) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void uploadFailed(List<ILoggingEvent> events, Throwable error) {
+        if (error != null) {
+            addError("Sending log request failed", error);
+        } else {
+            addError("Sending log request failed");
+        }
+        uploadFailed(events);
+    }
 
-        if (!entries.isEmpty() && !sendLogs(entries) && emergencyAppender != null) {
+    private void uploadFailed(List<ILoggingEvent> events) {
+        uploadFailedCount.add(events.size());
+        if (emergencyAppender != null) {
             for (ILoggingEvent event : events) {
                 emergencyAppender.doAppend(event);
             }
         }
     }
 
-    private boolean sendLogs(Iterable<Object> entries) {
+    private void awaitUploads() {
         try {
-            if (AzureLoggingClient.sendLogs(entries)) {
-                return true;
+            if (uploadPermits.tryAcquire(maxInFlightUploads, STOP_TIMEOUT, MILLISECONDS)) {
+                uploadPermits.release(maxInFlightUploads);
             }
-            addError("Sending log request failed");
-        } catch (Exception e) {
-            addError("Sending log request failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-        return false;
+    }
+
+    /**
+     * @param data the encoded event
+     * @return the size in bytes of the event serialized as a {@link LogEntry}, including JSON escapes
+     */
+    private int entrySize(byte[] data) {
+        int size = entryOverhead + data.length;
+        for (byte b : data) {
+            if (b == '"' || b == '\\' || b == '\n' || b == '\r' || b == '\t') {
+                size++;
+            } else if (b >= 0 && b < ' ') {
+                size += 5;
+            }
+        }
+        return size;
     }
 
     private boolean tryToConfigure() {
 
-        if (!AzureLoggingClient.isReady()) {
+        if (!AzureLoggingClient.isReady(getName())) {
             return false;
         }
 
@@ -333,8 +996,57 @@ public class AzureAppender extends AppenderBase<ILoggingEvent> implements Append
             subject = AzureLoggingClient.getAppName();
         }
 
+        entryOverhead = ENTRY_OVERHEAD + utf8Length(source) + utf8Length(subject);
         configuredSuccessfully = true;
 
         return true;
     }
+
+    private static int utf8Length(String value) {
+        return value == null ? 0 : value.getBytes(UTF_8).length;
+    }
+
+    /**
+     * A batch waiting to be uploaded again.
+     *
+     * @param entries the log entries
+     * @param events  the events of the entries
+     * @param attempt the number of the next retry
+     * @param retryAt the {@link System#nanoTime()} at which the batch is uploaded again
+     */
+    private record RetryBatch(List<Object> entries, List<ILoggingEvent> events, int attempt, long retryAt) {
+    }
+
+    /**
+     * What is done with events appended while the queue is full. Every policy other than {@link #BLOCK} returns
+     * without waiting.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * The appended event is dropped.
+         */
+        DROP_NEWEST,
+
+        /**
+         * The oldest queued event is dropped to make room for the appended one.
+         */
+        DROP_OLDEST,
+
+        /**
+         * The logging thread waits up to {@code overflowTimeout} ms for a free slot, then the event is passed to the
+         * emergency appender, if any, otherwise it is dropped.
+         */
+        BLOCK,
+
+        /**
+         * The event is passed to the emergency appender, if any, otherwise it is dropped.
+         */
+        EMERGENCY_APPENDER,
+
+        /**
+         * Events below {@code overflowLevel} are dropped, while events at or above it replace the oldest queued events.
+         */
+        DROP_BELOW_LEVEL
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.logging;
+
+import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * Configuration of the data collection rule an {@link AzureAppender} uploads to, keyed by the name of the appender.
+ * Appenders without such configuration use the default client configured under
+ * {@value AzureLoggingConfigurationProperties#PREFIX}.
+ *
+ * @since 5.8.0
+ */
+@EachProperty(AzureLoggingAppenderConfigurationProperties.PREFIX)
+@BootstrapContextCompatible
+public class AzureLoggingAppenderConfigurationProperties {
+
+    /**
+     * Prefix.
+     */
+    public static final String PREFIX = AzureLoggingConfigurationProperties.PREFIX + ".appenders";
+
+    private final String name;
+    private String dataCollectionEndpoint;
+    private String ruleId;
+    private String streamName;
+
+    /**
+     * @param name the name of the appender
+     */
+    public AzureLoggingAppenderConfigurationProperties(@Parameter String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the name of the appender
+     */
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param dataCollectionEndpoint data collection endpoint URL, defaults to the endpoint of the default client
+     */
+    public void setDataCollectionEndpoint(@Nullable String dataCollectionEndpoint) {
+        this.dataCollectionEndpoint = dataCollectionEndpoint;
+    }
+
+    /**
+     * @return data collection endpoint URL
+     */
+    @Nullable
+    public String getDataCollectionEndpoint() {
+        return dataCollectionEndpoint;
+    }
+
+    /**
+     * @param ruleId data collection rule id
+     */
+    public void setRuleId(String ruleId) {
+        this.ruleId = ruleId;
+    }
+
+    /**
+     * @return data collection rule id
+     */
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    /**
+     * @param streamName stream name
+     */
+    public void setStreamName(String streamName) {
+        this.streamName = streamName;
+    }
+
+    /**
+     * @return stream name
+     */
+    public String getStreamName() {
+        return streamName;
+    }
+}
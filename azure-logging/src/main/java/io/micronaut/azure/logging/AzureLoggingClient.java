@@ -15,21 +15,43 @@
  */
 package io.micronaut.azure.logging;
 
+import io.micronaut.context.BeanProvider;
 import io.micronaut.context.annotation.Context;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.context.event.ApplicationEventListener;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.runtime.ApplicationConfiguration;
 import io.micronaut.runtime.server.event.ServerStartupEvent;
 import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import static io.micronaut.core.util.StringUtils.TRUE;
 
 /**
- * Log ingestion client used by {@link AzureAppender}.
+ * Log ingestion client used by {@link AzureAppender}. The clients are published when the server starts, the appender
+ * keeps its events queued until the client is ready.
+ *
+ * <p>The clients, host and application name are published together as an immutable snapshot, so appenders read them
+ * without locking. An appender uses the client configured for its name, ignoring case, under
+ * {@value AzureLoggingAppenderConfigurationProperties#PREFIX}, if any, otherwise the default client.</p>
+ *
+ * <p>The clients are looked up each time the server starts, so a server started again after a CRaC restore keeps the
+ * clients created by {@link AzureLoggingCracResource} instead of the ones closed before the checkpoint.</p>
  *
  * @since 5.6
  */
@@ -41,52 +63,108 @@ final class AzureLoggingClient implements ApplicationEventListener<ServerStartup
 
     public static final String ENABLED = AzureLoggingConfigurationProperties.PREFIX + ".enabled";
 
-    private static String appName;
-    private static String host;
-    private static ClientWrapper client;
+    private static final AtomicReference<Snapshot> SNAPSHOT = new AtomicReference<>(Snapshot.EMPTY);
 
     private final String internalAppName;
-    private final ClientWrapper internalClient;
+    private final Supplier<ClientWrapper> internalClient;
+    private final Supplier<Collection<NamedClientWrapper>> internalAppenderClients;
 
     AzureLoggingClient(ApplicationConfiguration appConfig,
                        ClientWrapper clientWrapper) {
+        this(appConfig, clientWrapper, Collections.emptyList());
+    }
+
+    AzureLoggingClient(ApplicationConfiguration appConfig,
+                       ClientWrapper clientWrapper,
+                       List<NamedClientWrapper> appenderClients) {
         internalAppName = appConfig.getName().orElse("");
-        internalClient = clientWrapper;
+        internalClient = () -> clientWrapper;
+        internalAppenderClients = () -> appenderClients;
+    }
+
+    /**
+     * @param appConfig       The application configuration
+     * @param clientWrapper   The provider of the default upload client
+     * @param appenderClients The provider of the upload clients of the appenders
+     * @since 5.8.0
+     */
+    @Inject
+    AzureLoggingClient(ApplicationConfiguration appConfig,
+                       BeanProvider<ClientWrapper> clientWrapper,
+                       BeanProvider<NamedClientWrapper> appenderClients) {
+        internalAppName = appConfig.getName().orElse("");
+        internalClient = clientWrapper::get;
+        internalAppenderClients = () -> appenderClients.stream().toList();
+    }
+
+    static boolean isReady() {
+        return SNAPSHOT.get().client() != null;
+    }
+
+    /**
+     * @param appenderName the name of the appender
+     * @return whether a client is available for the appender
+     */
+    static boolean isReady(@Nullable String appenderName) {
+        return SNAPSHOT.get().client(appenderName) != null;
+    }
+
+    static String getHost() {
+        return SNAPSHOT.get().host();
     }
 
-    static synchronized boolean isReady() {
-        return client != null;
+    static String getAppName() {
+        return SNAPSHOT.get().appName();
     }
 
-    static synchronized String getHost() {
-        return host;
+    static void destroy() throws IOException {
+        closeClients(SNAPSHOT.getAndSet(Snapshot.EMPTY));
     }
 
-    static synchronized String getAppName() {
-        return appName;
+    /**
+     * Closes the upload clients while keeping the host and application name, for example before a CRaC checkpoint.
+     * Logs are not sent until {@link #resume(ClientWrapper, Collection)} is called.
+     *
+     * @return whether a client was closed
+     * @throws IOException if closing a client fails
+     */
+    static boolean suspend() throws IOException {
+        Snapshot suspended = SNAPSHOT.getAndUpdate(snapshot -> snapshot.withClients(null, Collections.emptyMap()));
+        closeClients(suspended);
+        return suspended.client() != null || !suspended.appenderClients().isEmpty();
     }
 
-    private static synchronized void setLogging(ClientWrapper client,
-                                                String host,
-                                                String appName) {
-        AzureLoggingClient.client = client;
-        AzureLoggingClient.host = host;
-        AzureLoggingClient.appName = appName;
+    /**
+     * @param client          The upload client replacing the one closed by {@link #suspend()}
+     * @param appenderClients The upload clients of the appenders replacing the ones closed by {@link #suspend()}
+     */
+    static void resume(ClientWrapper client, Collection<NamedClientWrapper> appenderClients) {
+        Map<String, ClientWrapper> clients = toMap(appenderClients);
+        SNAPSHOT.updateAndGet(snapshot -> snapshot.withClients(client, clients));
     }
 
-    static synchronized void destroy() throws IOException {
-        AzureLoggingClient.client.close();
-        AzureLoggingClient.client = null;
-        AzureLoggingClient.host = null;
-        AzureLoggingClient.appName = null;
+    /**
+     * Uploads logs with the client of an appender.
+     *
+     * @param appenderName the name of the appender
+     * @param entries      the log entries
+     * @return a future completed with whether the logs were uploaded, {@code false} if there is no client
+     */
+    static CompletableFuture<Boolean> sendLogsAsync(@Nullable String appenderName, Iterable<Object> entries) {
+        ClientWrapper current = SNAPSHOT.get().client(appenderName);
+        if (current == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return current.uploadAsync(entries).thenApply(ignored -> true);
     }
 
-    static synchronized boolean sendLogs(Iterable<Object> entries) {
-        if (client == null) {
+    static boolean sendLogs(Iterable<Object> entries) {
+        ClientWrapper current = SNAPSHOT.get().client();
+        if (current == null) {
             return false;
         }
 
-        client.upload(entries);
+        current.upload(entries);
         return true;
     }
 
@@ -97,6 +175,69 @@ final class AzureLoggingClient implements ApplicationEventListener<ServerStartup
 
     @Override
     public void onApplicationEvent(ServerStartupEvent event) {
-        setLogging(internalClient, event.getSource().getHost(), internalAppName);
+        SNAPSHOT.set(new Snapshot(internalClient.get(), toMap(internalAppenderClients.get()), event.getSource().getHost(), internalAppName));
+    }
+
+    private static Map<String, ClientWrapper> toMap(Collection<NamedClientWrapper> appenderClients) {
+        if (appenderClients.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, ClientWrapper> clients = new HashMap<>(appenderClients.size());
+        for (NamedClientWrapper appenderClient : appenderClients) {
+            clients.put(appenderClient.appenderName().toLowerCase(Locale.ENGLISH), appenderClient.client());
+        }
+        return Collections.unmodifiableMap(clients);
+    }
+
+    private static void closeClients(Snapshot snapshot) throws IOException {
+        List<ClientWrapper> clients = new ArrayList<>(snapshot.appenderClients().values());
+        if (snapshot.client() != null) {
+            clients.add(snapshot.client());
+        }
+        IOException failure = null;
+        for (ClientWrapper client : clients) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * The state shared with the appenders.
+     *
+     * @param client          the default client
+     * @param appenderClients the clients of the appenders, by lower case appender name
+     * @param host            the host
+     * @param appName         the application name
+     */
+    private record Snapshot(ClientWrapper client,
+                            @NonNull Map<String, ClientWrapper> appenderClients,
+                            String host,
+                            String appName) {
+
+        static final Snapshot EMPTY = new Snapshot(null, Collections.emptyMap(), null, null);
+
+        ClientWrapper client(String appenderName) {
+            if (appenderName != null) {
+                ClientWrapper appenderClient = appenderClients.get(appenderName.toLowerCase(Locale.ENGLISH));
+                if (appenderClient != null) {
+                    return appenderClient;
+                }
+            }
+            return client;
+        }
+
+        Snapshot withClients(ClientWrapper client, Map<String, ClientWrapper> appenderClients) {
+            return new Snapshot(client, appenderClients, host, appName);
+        }
     }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.logging;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.BeanRegistration;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.crac.OrderedResource;
+import jakarta.inject.Singleton;
+import org.crac.Context;
+import org.crac.Resource;
+
+import java.io.IOException;
+
+/**
+ * CRaC resource closing the log upload clients of {@link AzureLoggingClient} before a checkpoint and creating new ones
+ * on restore. Logs appended in between are handled by the emergency appender of {@link AzureAppender}, if any.
+ *
+ * @since 5.8.0
+ */
+@Internal
+@Singleton
+@Requires(classes = OrderedResource.class)
+@Requires(beans = AzureLoggingClient.class)
+final class AzureLoggingCracResource implements OrderedResource {
+
+    private final BeanContext beanContext;
+    private boolean suspended;
+
+    /**
+     * @param beanContext The bean context
+     */
+    AzureLoggingCracResource(BeanContext beanContext) {
+        this.beanContext = beanContext;
+    }
+
+    @Override
+    public synchronized void beforeCheckpoint(Context<? extends Resource> context) throws IOException {
+        suspended = AzureLoggingClient.suspend();
+        if (suspended) {
+            beanContext.destroyBean(ClientWrapper.class);
+            for (BeanRegistration<NamedClientWrapper> registration : beanContext.getActiveBeanRegistrations(NamedClientWrapper.class)) {
+                beanContext.destroyBean(registration);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void afterRestore(Context<? extends Resource> context) {
+        if (suspended) {
+            AzureLoggingClient.resume(beanContext.getBean(ClientWrapper.class), beanContext.getBeansOfType(NamedClientWrapper.class));
+            suspended = false;
+        }
+    }
+}
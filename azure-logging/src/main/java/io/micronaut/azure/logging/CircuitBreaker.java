@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.logging;
+
+import io.micronaut.core.annotation.Internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stops uploads to the Logs Ingestion endpoint during outages. The circuit opens after a number of consecutive failed
+ * uploads and rejects uploads for a while. It then lets a single trial upload through: its success closes the circuit,
+ * while its failure opens it again right away. Other uploads are rejected until the trial completes.
+ *
+ * @since 5.8.0
+ */
+@Internal
+final class CircuitBreaker {
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongAdder openCount = new LongAdder();
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openUntil;
+    private boolean trialInFlight;
+
+    /**
+     * @param failureThreshold   the number of consecutive failures opening the circuit
+     * @param openDurationMillis the time in ms the circuit stays open
+     */
+    CircuitBreaker(int failureThreshold, long openDurationMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMillis);
+    }
+
+    /**
+     * @return whether an upload may be sent
+     */
+    synchronized boolean allowRequest() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openUntil < 0) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+        }
+        if (trialInFlight) {
+            return false;
+        }
+        trialInFlight = true;
+        return true;
+    }
+
+    /**
+     * Records an upload that completed without a response from the endpoint, so that another trial upload may be
+     * sent.
+     */
+    synchronized void release() {
+        trialInFlight = false;
+    }
+
+    /**
+     * @return the time in ns until uploads are let through again
+     */
+    synchronized long nanosUntilHalfOpen() {
+        return state == State.OPEN ? Math.max(0, openUntil - System.nanoTime()) : 0;
+    }
+
+    /**
+     * Records a successful upload.
+     */
+    synchronized void success() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Records an upload that failed because of the endpoint.
+     */
+    synchronized void failure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            trialInFlight = false;
+            openUntil = System.nanoTime() + openNanos;
+            openCount.increment();
+        }
+    }
+
+    /**
+     * @return the state of the circuit
+     */
+    synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return the number of times the circuit opened
+     */
+    long getOpenCount() {
+        return openCount.sum();
+    }
+
+    /**
+     * The state of the circuit.
+     */
+    enum State {
+
+        /**
+         * Uploads are sent.
+         */
+        CLOSED,
+
+        /**
+         * Uploads are rejected until the open duration elapses.
+         */
+        OPEN,
+
+        /**
+         * A single trial upload is sent, its result closes or opens the circuit.
+         */
+        HALF_OPEN
+    }
+}
@@ -16,6 +16,7 @@
 package io.micronaut.azure.logging;
 
 import com.azure.core.credential.TokenCredential;
+import io.micronaut.context.annotation.EachBean;
 import io.micronaut.context.annotation.Factory;
 import jakarta.inject.Singleton;
 
@@ -39,4 +40,23 @@ public class ClientFactory {
                          AzureLoggingConfigurationProperties loggingConfig) {
         return new DefaultClientWrapper(tokenCredential, loggingConfig);
     }
+
+    /**
+     * Create a wrapper for an appender with its own data collection rule.
+     *
+     * @param tokenCredential the credential
+     * @param loggingConfig   logging configuration
+     * @param appenderConfig  configuration of the appender
+     * @return the wrapper
+     */
+    @EachBean(AzureLoggingAppenderConfigurationProperties.class)
+    NamedClientWrapper appenderClient(TokenCredential tokenCredential,
+                                      AzureLoggingConfigurationProperties loggingConfig,
+                                      AzureLoggingAppenderConfigurationProperties appenderConfig) {
+        String endpoint = appenderConfig.getDataCollectionEndpoint() != null
+            ? appenderConfig.getDataCollectionEndpoint()
+            : loggingConfig.getDataCollectionEndpoint();
+        return new NamedClientWrapper(appenderConfig.getName(),
+            new DefaultClientWrapper(tokenCredential, endpoint, appenderConfig.getRuleId(), appenderConfig.getStreamName()));
+    }
 }
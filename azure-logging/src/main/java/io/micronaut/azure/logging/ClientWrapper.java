@@ -19,6 +19,7 @@ import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.NonNull;
 
 import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Wraps a LogsIngestionClient and provides access via an upload method.
@@ -30,4 +31,20 @@ import java.io.Closeable;
 interface ClientWrapper extends Closeable {
 
     void upload(@NonNull Iterable<Object> logs);
+
+    /**
+     * Uploads logs without blocking the calling thread. Defaults to a blocking {@link #upload(Iterable)}.
+     *
+     * @param logs the logs
+     * @return a future completed once the logs are uploaded
+     */
+    @NonNull
+    default CompletableFuture<Void> uploadAsync(@NonNull Iterable<Object> logs) {
+        try {
+            upload(logs);
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
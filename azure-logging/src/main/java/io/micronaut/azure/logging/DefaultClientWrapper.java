@@ -16,11 +16,16 @@
 package io.micronaut.azure.logging;
 
 import com.azure.core.credential.TokenCredential;
+import com.azure.core.http.policy.ExponentialBackoffOptions;
+import com.azure.core.http.policy.RetryOptions;
+import com.azure.monitor.ingestion.LogsIngestionAsyncClient;
 import com.azure.monitor.ingestion.LogsIngestionClient;
 import com.azure.monitor.ingestion.LogsIngestionClientBuilder;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.NonNull;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Default implementation.
  *
@@ -30,17 +35,29 @@ import io.micronaut.core.annotation.NonNull;
 class DefaultClientWrapper implements ClientWrapper {
 
     private final LogsIngestionClient client;
+    private final LogsIngestionAsyncClient asyncClient;
     private final String ruleId;
     private final String streamName;
 
     DefaultClientWrapper(@NonNull TokenCredential tokenCredential,
                          @NonNull AzureLoggingConfigurationProperties loggingConfig) {
-        client = new LogsIngestionClientBuilder()
-            .endpoint(loggingConfig.getDataCollectionEndpoint())
-            .credential(tokenCredential)
-            .buildClient();
-        ruleId = loggingConfig.getRuleId();
-        streamName = loggingConfig.getStreamName();
+        this(tokenCredential, loggingConfig.getDataCollectionEndpoint(), loggingConfig.getRuleId(), loggingConfig.getStreamName());
+    }
+
+    DefaultClientWrapper(@NonNull TokenCredential tokenCredential,
+                         @NonNull String dataCollectionEndpoint,
+                         @NonNull String ruleId,
+                         @NonNull String streamName) {
+        LogsIngestionClientBuilder builder = new LogsIngestionClientBuilder()
+            .endpoint(dataCollectionEndpoint)
+            .credential(tokenCredential);
+        client = builder.buildClient();
+        // AzureAppender retries the batches uploaded with the async client, so its HTTP pipeline does not retry
+        asyncClient = builder
+            .retryOptions(new RetryOptions(new ExponentialBackoffOptions().setMaxRetries(0)))
+            .buildAsyncClient();
+        this.ruleId = ruleId;
+        this.streamName = streamName;
     }
 
     @Override
@@ -48,6 +65,12 @@ class DefaultClientWrapper implements ClientWrapper {
         client.upload(ruleId, streamName, logs);
     }
 
+    @Override
+    @NonNull
+    public CompletableFuture<Void> uploadAsync(@NonNull Iterable<Object> logs) {
+        return asyncClient.upload(ruleId, streamName, logs).toFuture();
+    }
+
     @Override
     public void close() {
         client.close();
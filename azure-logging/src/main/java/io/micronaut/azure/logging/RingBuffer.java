@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.logging;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue backed by pre-allocated arrays. Each slot carries a sequence number telling whether it is
+ * free for the producer claiming a position or filled for a consumer, so neither side locks or allocates. Producers
+ * never wait: {@link #offer(Object)} fails when the buffer is full. Elements are normally polled by a single
+ * consumer, but producers may also poll to evict the oldest element.
+ *
+ * <p>The arrays are sized to a power of two so that positions map to slots with a mask, but the buffer holds no more
+ * elements than the capacity it was created with.</p>
+ *
+ * @param <E> The element type
+ * @since 5.8.0
+ */
+@Internal
+final class RingBuffer<E> {
+
+    private static final int MIN_SLOTS = 2;
+    private static final int MAX_SLOTS = 1 << 30;
+
+    private final int capacity;
+    private final int slots;
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity The maximum number of elements, at least one
+     */
+    RingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least 1: " + capacity);
+        }
+        this.capacity = Math.min(capacity, MAX_SLOTS);
+        this.slots = slotsFor(capacity);
+        this.mask = slots - 1;
+        this.elements = new AtomicReferenceArray<>(slots);
+        this.sequences = new AtomicLongArray(slots);
+        for (int i = 0; i < slots; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @param capacity The capacity
+     * @return The smallest power of two greater than or equal to the capacity
+     */
+    static int slotsFor(int capacity) {
+        if (capacity <= MIN_SLOTS) {
+            return MIN_SLOTS;
+        }
+        if (capacity >= MAX_SLOTS) {
+            return MAX_SLOTS;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * @return The maximum number of elements the buffer holds
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Adds an element if the buffer is not full. Safe to call from any thread.
+     *
+     * @param element The element
+     * @return Whether the element was added
+     */
+    boolean offer(@NonNull E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (position - head.get() >= capacity) {
+                    // the slot is free but the buffer already holds as many elements as its capacity
+                    return false;
+                }
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    // publishes the element to the consumer
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // the slot still holds the element of the previous lap
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element. Safe to call from any thread.
+     *
+     * @return The oldest element, or {@code null} if the buffer is empty
+     */
+    @Nullable
+    E poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = elements.get(index);
+                    elements.lazySet(index, null);
+                    // frees the slot for the producers of the next lap
+                    sequences.lazySet(index, position + slots);
+                    return element;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                // the slot has not been filled yet
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * @return An estimate of the number of elements in the buffer
+     */
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    /**
+     * @return Whether the buffer was empty when checked
+     */
+    boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.logging;
+
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.http.HttpHeaderName;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpResponse;
+import com.azure.monitor.ingestion.models.LogsUploadError;
+import com.azure.monitor.ingestion.models.LogsUploadException;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Classifies the errors of log uploads.
+ *
+ * @since 5.8.0
+ */
+@Internal
+final class UploadErrors {
+
+    private static final HttpHeaderName RETRY_AFTER_MS = HttpHeaderName.fromString("retry-after-ms");
+    private static final HttpHeaderName X_MS_RETRY_AFTER_MS = HttpHeaderName.fromString("x-ms-retry-after-ms");
+    private static final int REQUEST_TIMEOUT = 408;
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVER_ERROR = 500;
+
+    private UploadErrors() {
+    }
+
+    /**
+     * @param error the error completing an upload
+     * @return the error without the wrappers added by futures
+     */
+    @NonNull
+    static Throwable unwrap(@NonNull Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Timeouts, I/O errors, {@code 408}, {@code 429} and {@code 5xx} responses are transient.
+     *
+     * @param error the unwrapped error
+     * @return whether the upload may succeed if retried
+     */
+    static boolean isTransient(@NonNull Throwable error) {
+        if (error instanceof LogsUploadException uploadException) {
+            List<LogsUploadError> errors = uploadException.getLogsUploadErrors();
+            if (errors == null || errors.isEmpty()) {
+                return false;
+            }
+            for (LogsUploadError uploadError : errors) {
+                if (!isTransient(uploadError.getResponseException())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (error instanceof HttpResponseException responseException) {
+            HttpResponse response = responseException.getResponse();
+            if (response == null) {
+                return false;
+            }
+            int status = response.getStatusCode();
+            return status == REQUEST_TIMEOUT || status == TOO_MANY_REQUESTS || status >= SERVER_ERROR;
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param error the unwrapped error
+     * @return the logs that were not uploaded, or {@code null} if the whole upload failed
+     */
+    @Nullable
+    static List<Object> failedLogs(@NonNull Throwable error) {
+        if (error instanceof LogsUploadException uploadException && uploadException.getLogsUploadErrors() != null) {
+            List<Object> failedLogs = new ArrayList<>();
+            for (LogsUploadError uploadError : uploadException.getLogsUploadErrors()) {
+                failedLogs.addAll(uploadError.getFailedLogs());
+            }
+            return failedLogs;
+        }
+        return null;
+    }
+
+    /**
+     * @param error the unwrapped error
+     * @return the delay in ns requested by the endpoint with a {@code Retry-After} header, or {@code -1}
+     */
+    static long retryAfterNanos(@NonNull Throwable error) {
+        HttpResponse response = null;
+        if (error instanceof HttpResponseException responseException) {
+            response = responseException.getResponse();
+        } else if (error instanceof LogsUploadException uploadException && uploadException.getLogsUploadErrors() != null) {
+            for (LogsUploadError uploadError : uploadException.getLogsUploadErrors()) {
+                if (uploadError.getResponseException() != null && uploadError.getResponseException().getResponse() != null) {
+                    response = uploadError.getResponseException().getResponse();
+                    break;
+                }
+            }
+        }
+        return response == null ? -1 : retryAfterNanos(response.getHeaders());
+    }
+
+    private static long retryAfterNanos(HttpHeaders headers) {
+        try {
+            for (HttpHeaderName name : List.of(RETRY_AFTER_MS, X_MS_RETRY_AFTER_MS)) {
+                String millis = headers.getValue(name);
+                if (millis != null) {
+                    return TimeUnit.MILLISECONDS.toNanos(Long.parseLong(millis.trim()));
+                }
+            }
+            String retryAfter = headers.getValue(HttpHeaderName.RETRY_AFTER);
+            if (retryAfter == null) {
+                return -1;
+            }
+            retryAfter = retryAfter.trim();
+            if (!retryAfter.isEmpty() && Character.isDigit(retryAfter.charAt(0))) {
+                return TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter));
+            }
+            ZonedDateTime date = ZonedDateTime.parse(retryAfter, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(date.getZone()), date).toNanos());
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return -1;
+        }
+    }
+}
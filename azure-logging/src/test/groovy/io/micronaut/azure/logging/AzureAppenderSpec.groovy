@@ -3,15 +3,23 @@ package io.micronaut.azure.logging
 import ch.qos.logback.classic.Level
 import ch.qos.logback.classic.LoggerContext
 import ch.qos.logback.classic.PatternLayout
+import ch.qos.logback.classic.spi.ILoggingEvent
 import ch.qos.logback.classic.spi.LoggingEvent
 import ch.qos.logback.core.encoder.LayoutWrappingEncoder
 import ch.qos.logback.core.read.ListAppender
+import com.azure.core.exception.HttpResponseException
+import com.azure.core.http.HttpHeaderName
+import com.azure.core.http.HttpHeaders
 import io.micronaut.runtime.ApplicationConfiguration
 import io.micronaut.runtime.server.EmbeddedServer
 import io.micronaut.runtime.server.event.ServerStartupEvent
 import spock.lang.Specification
 import spock.util.concurrent.PollingConditions
 import io.micronaut.azure.logging.AzureLoggingSpec.MockClientWrapper
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.atomic.AtomicInteger
+
 import static ch.qos.logback.classic.Level.INFO
 
 class AzureAppenderSpec extends Specification {
@@ -62,6 +70,7 @@ class AzureAppenderSpec extends Specification {
         context.statusManager.copyOfStatusList.find {
             it.message == 'Queue size of zero is deprecated, use a size of one to indicate synchronous processing'
         }
+        appender.started
     }
 
     void 'test error max batch size less or equal to 0'() {
@@ -187,6 +196,316 @@ class AzureAppenderSpec extends Specification {
         clientWrapper.logsList[0][0].subject == testSubject
     }
 
+    void 'events appended while the queue is full are handled by the overflow policy'() {
+        given:
+        AzureLoggingClient.destroy()
+        var mockAppender = new ListAppender(name: 'MockAppender', context: context)
+        appender.addAppender mockAppender
+        appender.queueSize = 2
+        appender.overflowPolicy = policy
+        appender.overflowTimeout = 10
+        appender.start()
+
+        when:
+        3.times { appender.doAppend createEvent('name', INFO, "message $it", System.currentTimeMillis()) }
+
+        then:
+        mockAppender.list*.message == spilled
+        appender.droppedNewestCount == droppedNewest
+        appender.droppedOldestCount == droppedOldest
+        appender.blockedCount == blocked
+        appender.spilledCount == spilled.size()
+
+        where:
+        policy                                          | spilled       | droppedNewest | droppedOldest | blocked
+        AzureAppender.OverflowPolicy.EMERGENCY_APPENDER | ['message 2'] | 0             | 0             | 0
+        AzureAppender.OverflowPolicy.DROP_NEWEST        | []            | 1             | 0             | 0
+        AzureAppender.OverflowPolicy.DROP_OLDEST        | []            | 0             | 1             | 0
+        AzureAppender.OverflowPolicy.BLOCK              | ['message 2'] | 0             | 0             | 1
+        AzureAppender.OverflowPolicy.DROP_BELOW_LEVEL   | []            | 1             | 0             | 0
+    }
+
+    void 'events at or above the overflow level replace the oldest queued events'() {
+        given:
+        AzureLoggingClient.destroy()
+        appender.queueSize = 2
+        appender.overflowPolicy = AzureAppender.OverflowPolicy.DROP_BELOW_LEVEL
+        appender.overflowLevel = Level.WARN
+        appender.start()
+
+        when:
+        2.times { appender.doAppend createEvent('name', INFO, "message $it", System.currentTimeMillis()) }
+        appender.doAppend createEvent('name', Level.DEBUG, 'debug', System.currentTimeMillis())
+        appender.doAppend createEvent('name', Level.ERROR, 'error', System.currentTimeMillis())
+
+        then:
+        appender.droppedNewestCount == 1
+        appender.droppedOldestCount == 1
+    }
+
+    void 'batches are cut before the maximum batch bytes and oversized events are passed to the emergency appender'() {
+        given:
+        var mockAppender = new ListAppender(name: 'MockAppender', context: context)
+        appender.addAppender mockAppender
+        appender.maxBatchBytes = 1000
+        appender.start()
+
+        when:
+        10.times { appender.doAppend createEvent('name', INFO, 'x' * 200, System.currentTimeMillis()) }
+        appender.doAppend createEvent('name', INFO, 'y' * 2000, System.currentTimeMillis())
+
+        then:
+        new PollingConditions(timeout: 10, initialDelay: 0.5, factor: 1.25).eventually {
+            clientWrapper.logsList.sum(0) { it.size() } == 10
+            mockAppender.list.size() == 1
+        }
+        clientWrapper.logsList.size() > 1
+        clientWrapper.logsList.every { batch -> batch.sum { it.data.length() + 72 } <= 1000 }
+    }
+
+    void 'a full batch is published without waiting for the publish period'() {
+        given:
+        appender.publishPeriod = 60_000
+        appender.maxBatchSize = 5
+        appender.start()
+
+        when:
+        5.times { appender.doAppend createEvent('name', INFO, "message $it", System.currentTimeMillis()) }
+
+        then:
+        new PollingConditions(timeout: 10, initialDelay: 0.1, factor: 1.25).eventually {
+            clientWrapper.logsList.sum(0) { it.size() } == 5
+        }
+    }
+
+    void 'a partial batch is published once the publish period has elapsed'() {
+        given:
+        appender.publishPeriod = 200
+        appender.start()
+
+        when:
+        appender.doAppend createEvent('name', INFO, 'message', System.currentTimeMillis())
+
+        then:
+        new PollingConditions(timeout: 10, initialDelay: 0.1, factor: 1.25).eventually {
+            clientWrapper.logsList.size() == 1
+        }
+    }
+
+    void 'the queued events are published when the appender stops'() {
+        given:
+        appender.publishPeriod = 60_000
+        appender.start()
+        appender.doAppend createEvent('name', INFO, 'first', System.currentTimeMillis())
+
+        when:
+        appender.stop()
+
+        then:
+        clientWrapper.logsList.sum(0) { it.size() } == 1
+    }
+
+    void 'no more than the maximum number of uploads are in flight'() {
+        given:
+        List<CompletableFuture<Void>> uploads = [].asSynchronized()
+        var asyncClient = new ClientWrapper() {
+            void upload(Iterable<Object> logs) {
+                throw new UnsupportedOperationException()
+            }
+
+            CompletableFuture<Void> uploadAsync(Iterable<Object> logs) {
+                var upload = new CompletableFuture<Void>()
+                uploads << upload
+                upload
+            }
+
+            void close() {}
+        }
+        var instance = Mock(EmbeddedServer)
+        instance.getHost() >> 'testHost'
+        new AzureLoggingClient(Stub(ApplicationConfiguration), asyncClient).onApplicationEvent(new ServerStartupEvent(instance))
+        appender.maxBatchSize = 1
+        appender.maxInFlightUploads = 2
+        appender.start()
+        var conditions = new PollingConditions(timeout: 10, initialDelay: 0.1, factor: 1.25)
+
+        when:
+        3.times { appender.doAppend createEvent('name', INFO, "message $it", System.currentTimeMillis()) }
+
+        then:
+        conditions.eventually {
+            uploads.size() == 2
+        }
+
+        when:
+        uploads[0].complete(null)
+
+        then:
+        conditions.eventually {
+            uploads.size() == 3
+        }
+
+        cleanup:
+        uploads*.complete(null)
+    }
+
+    void 'uploads failing with a transient error are retried'() {
+        given:
+        var attempts = new AtomicInteger()
+        startClient(new FailingClientWrapper(attempts, 2, new UncheckedIOException(new IOException('Connection reset'))))
+        appender.retryInitialDelay = 10
+        appender.retryMaxDelay = 20
+        appender.start()
+
+        when:
+        appender.doAppend createEvent('name', INFO, 'message', System.currentTimeMillis())
+
+        then:
+        new PollingConditions(timeout: 10, initialDelay: 0.1, factor: 1.25).eventually {
+            attempts.get() == 3
+            appender.retryBufferedCount == 0
+        }
+        appender.retryCount == 2
+        appender.uploadFailedCount == 0
+        appender.circuitBreakerState == 'CLOSED'
+    }
+
+    void 'uploads failing with a permanent error are not retried'() {
+        given:
+        var attempts = new AtomicInteger()
+        var emergency = new ListAppender<ILoggingEvent>()
+        emergency.start()
+        appender.addAppender(emergency)
+        startClient(new FailingClientWrapper(attempts, Integer.MAX_VALUE, new IllegalArgumentException('Invalid stream')))
+        appender.retryInitialDelay = 10
+        appender.start()
+
+        when:
+        appender.doAppend createEvent('name', INFO, 'message', System.currentTimeMillis())
+
+        then:
+        new PollingConditions(timeout: 10, initialDelay: 0.1, factor: 1.25).eventually {
+            emergency.list.size() == 1
+        }
+        attempts.get() == 1
+        appender.retryCount == 0
+        appender.uploadFailedCount == 1
+    }
+
+    void 'events are passed to the emergency appender once the retries are exhausted'() {
+        given:
+        var attempts = new AtomicInteger()
+        var emergency = new ListAppender<ILoggingEvent>()
+        emergency.start()
+        appender.addAppender(emergency)
+        startClient(new FailingClientWrapper(attempts, Integer.MAX_VALUE, new UncheckedIOException(new IOException('Connection reset'))))
+        appender.maxRetries = 2
+        appender.retryInitialDelay = 10
+        appender.retryMaxDelay = 20
+        appender.start()
+
+        when:
+        appender.doAppend createEvent('name', INFO, 'message', System.currentTimeMillis())
+
+        then:
+        new PollingConditions(timeout: 10, initialDelay: 0.1, factor: 1.25).eventually {
+            emergency.list.size() == 1
+        }
+        attempts.get() == 3
+        appender.retryCount == 2
+        appender.uploadFailedCount == 1
+    }
+
+    void 'the circuit opens after consecutive failures and holds the batches in the retry buffer'() {
+        given:
+        var attempts = new AtomicInteger()
+        var emergency = new ListAppender<ILoggingEvent>()
+        emergency.start()
+        appender.addAppender(emergency)
+        startClient(new FailingClientWrapper(attempts, Integer.MAX_VALUE, new UncheckedIOException(new IOException('Connection reset'))))
+        appender.maxRetries = 10
+        appender.retryInitialDelay = 10
+        appender.retryMaxDelay = 20
+        appender.circuitBreakerThreshold = 2
+        appender.circuitBreakerDuration = 60_000
+        appender.start()
+
+        when:
+        appender.doAppend createEvent('name', INFO, 'message', System.currentTimeMillis())
+
+        then:
+        new PollingConditions(timeout: 10, initialDelay: 0.1, factor: 1.25).eventually {
+            appender.circuitBreakerState == 'OPEN'
+            appender.retryBufferedCount == 1
+        }
+        appender.circuitBreakerOpenCount == 1
+        attempts.get() == 2
+
+        when:
+        appender.stop()
+
+        then: 'the pending retries are passed to the emergency appender'
+        attempts.get() == 2
+        emergency.list.size() == 1
+        appender.retryBufferedCount == 0
+    }
+
+    void 'batches held back by an open circuit use their retries'() {
+        given:
+        var attempts = new AtomicInteger()
+        var emergency = new ListAppender<ILoggingEvent>()
+        emergency.start()
+        appender.addAppender(emergency)
+        startClient(new FailingClientWrapper(attempts, Integer.MAX_VALUE, new UncheckedIOException(new IOException('Connection reset'))))
+        appender.maxRetries = 1
+        appender.retryInitialDelay = 10
+        appender.retryMaxDelay = 20
+        appender.circuitBreakerThreshold = 1
+        appender.circuitBreakerDuration = 60_000
+        appender.start()
+
+        when:
+        appender.doAppend createEvent('name', INFO, 'message', System.currentTimeMillis())
+
+        then:
+        new PollingConditions(timeout: 10, initialDelay: 0.1, factor: 1.25).eventually {
+            emergency.list.size() == 1
+        }
+        attempts.get() == 1
+        appender.retryBufferedCount == 0
+        appender.uploadFailedCount == 1
+        appender.circuitBreakerState == 'OPEN'
+    }
+
+    void 'the delay requested with Retry-After is capped by the maximum retry delay'() {
+        given:
+        var attempts = new AtomicInteger()
+        var headers = new HttpHeaders().set(HttpHeaderName.RETRY_AFTER, '3600')
+        var throttled = new HttpResponseException('Too many requests', new UploadErrorsSpec.TestResponse(429, headers))
+        startClient(new FailingClientWrapper(attempts, 1, throttled))
+        appender.retryInitialDelay = 10
+        appender.retryMaxDelay = 20
+        appender.start()
+
+        when:
+        appender.doAppend createEvent('name', INFO, 'message', System.currentTimeMillis())
+
+        then:
+        new PollingConditions(timeout: 10, initialDelay: 0.1, factor: 1.25).eventually {
+            attempts.get() == 2
+            appender.retryBufferedCount == 0
+        }
+        appender.retryCount == 1
+        appender.uploadFailedCount == 0
+    }
+
+    private void startClient(ClientWrapper client) {
+        var instance = Stub(EmbeddedServer) {
+            getHost() >> 'testHost'
+        }
+        new AzureLoggingClient(Stub(ApplicationConfiguration), client).onApplicationEvent(new ServerStartupEvent(instance))
+    }
+
     private static LoggingEvent createEvent(String name, Level level, String message, Long time) {
         LoggingEvent event = new LoggingEvent(loggerName: name, level: level, message: message)
         if (time) {
@@ -194,4 +513,31 @@ class AzureAppenderSpec extends Specification {
         }
         return event
     }
+
+    static class FailingClientWrapper implements ClientWrapper {
+
+        private final AtomicInteger attempts
+        private final int failures
+        private final Exception error
+
+        FailingClientWrapper(AtomicInteger attempts, int failures, Exception error) {
+            this.attempts = attempts
+            this.failures = failures
+            this.error = error
+        }
+
+        @Override
+        void upload(Iterable<Object> logs) {
+            throw new UnsupportedOperationException()
+        }
+
+        @Override
+        CompletableFuture<Void> uploadAsync(Iterable<Object> logs) {
+            attempts.incrementAndGet() <= failures ? CompletableFuture.failedFuture(error) : CompletableFuture.completedFuture(null)
+        }
+
+        @Override
+        void close() {
+        }
+    }
 }
@@ -2,7 +2,11 @@ package io.micronaut.azure.logging
 
 import io.micronaut.context.ApplicationContext
 import io.micronaut.context.annotation.Property
+import io.micronaut.runtime.ApplicationConfiguration
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.runtime.server.event.ServerStartupEvent
 import spock.lang.Specification
+import io.micronaut.azure.logging.AzureLoggingSpec.MockClientWrapper
 
 import static io.micronaut.context.env.Environment.AZURE
 
@@ -16,4 +20,54 @@ class AzureLoggingClientSpec extends Specification {
         expect:
         !context.containsBean(AzureLoggingClient)
     }
+
+    void 'appenders with their own client upload with it'() {
+        given:
+        var defaultClient = new MockClientWrapper()
+        var auditClient = new MockClientWrapper()
+        var instance = Mock(EmbeddedServer)
+        instance.getHost() >> 'testHost'
+        new AzureLoggingClient(Stub(ApplicationConfiguration), defaultClient, [new NamedClientWrapper('AUDIT', auditClient)])
+                .onApplicationEvent(new ServerStartupEvent(instance))
+
+        when:
+        AzureLoggingClient.sendLogsAsync('AUDIT', ['audit']).join()
+        AzureLoggingClient.sendLogsAsync('AZURE', ['azure']).join()
+        AzureLoggingClient.sendLogsAsync(null, ['other']).join()
+
+        then:
+        auditClient.logsList == [['audit']]
+        defaultClient.logsList == [['azure'], ['other']]
+        AzureLoggingClient.getHost() == 'testHost'
+
+        when:
+        AzureLoggingClient.destroy()
+
+        then:
+        !AzureLoggingClient.isReady('AUDIT')
+        !AzureLoggingClient.sendLogsAsync('AUDIT', ['audit']).join()
+        AzureLoggingClient.getHost() == null
+    }
+
+    void 'appenders can be configured with their own data collection rule'() {
+        given:
+        var context = ApplicationContext.run([
+                'azure.logging.enabled'                    : 'false',
+                'azure.logging.appenders.audit.rule-id'    : 'audit-rule',
+                'azure.logging.appenders.audit.stream-name': 'audit-stream'
+        ], AZURE)
+
+        when:
+        var configurations = context.getBeansOfType(AzureLoggingAppenderConfigurationProperties)
+
+        then:
+        configurations.size() == 1
+        configurations[0].name == 'audit'
+        configurations[0].ruleId == 'audit-rule'
+        configurations[0].streamName == 'audit-stream'
+        configurations[0].dataCollectionEndpoint == null
+
+        cleanup:
+        context.close()
+    }
 }
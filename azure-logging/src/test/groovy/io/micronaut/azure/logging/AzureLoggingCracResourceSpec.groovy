@@ -0,0 +1,73 @@
+package io.micronaut.azure.logging
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.crac.OrderedResource
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.runtime.server.event.ServerStartupEvent
+import spock.lang.Specification
+
+import static io.micronaut.context.env.Environment.AZURE
+
+class AzureLoggingCracResourceSpec extends Specification {
+
+    void 'the upload client is closed before a checkpoint and recreated on restore'() {
+        given:
+        var context = ApplicationContext.builder(AZURE)
+                .properties('spec.name': 'AzureLoggingSpec')
+                .start()
+        var clientWrapper = context.getBean(ClientWrapper)
+        var instance = Mock(EmbeddedServer)
+        instance.getHost() >> 'testHost'
+        context.getBean(AzureLoggingClient).onApplicationEvent(new ServerStartupEvent(instance))
+        var resource = context.getBeansOfType(OrderedResource).find { it instanceof AzureLoggingCracResource }
+
+        expect:
+        AzureLoggingClient.isReady()
+
+        when:
+        resource.beforeCheckpoint(null)
+
+        then:
+        !AzureLoggingClient.isReady()
+        !AzureLoggingClient.sendLogs([])
+        AzureLoggingClient.getHost() == 'testHost'
+
+        when:
+        resource.afterRestore(null)
+
+        then:
+        AzureLoggingClient.isReady()
+        AzureLoggingClient.sendLogs([])
+        !context.getBean(ClientWrapper).is(clientWrapper)
+
+        cleanup:
+        context.close()
+    }
+
+    void 'the client created on restore is kept when the server starts again'() {
+        given:
+        var context = ApplicationContext.builder(AZURE)
+                .properties('spec.name': 'AzureLoggingSpec')
+                .start()
+        var closedClient = (AzureLoggingSpec.MockClientWrapper) context.getBean(ClientWrapper)
+        var instance = Mock(EmbeddedServer)
+        instance.getHost() >> 'testHost'
+        context.publishEvent(new ServerStartupEvent(instance))
+        var resource = context.getBeansOfType(OrderedResource).find { it instanceof AzureLoggingCracResource }
+
+        when:
+        resource.beforeCheckpoint(null)
+        resource.afterRestore(null)
+        context.publishEvent(new ServerStartupEvent(instance))
+        var restoredClient = (AzureLoggingSpec.MockClientWrapper) context.getBean(ClientWrapper)
+
+        then:
+        !restoredClient.is(closedClient)
+        AzureLoggingClient.sendLogs(['after restore'])
+        restoredClient.logsList == [['after restore']]
+        closedClient.logsList.isEmpty()
+
+        cleanup:
+        context.close()
+    }
+}
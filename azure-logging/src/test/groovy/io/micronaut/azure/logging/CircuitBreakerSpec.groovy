@@ -0,0 +1,90 @@
+package io.micronaut.azure.logging
+
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import static io.micronaut.azure.logging.CircuitBreaker.State.CLOSED
+import static io.micronaut.azure.logging.CircuitBreaker.State.HALF_OPEN
+import static io.micronaut.azure.logging.CircuitBreaker.State.OPEN
+
+class CircuitBreakerSpec extends Specification {
+
+    private final PollingConditions conditions = new PollingConditions(timeout: 5, initialDelay: 0.05, factor: 1.25)
+
+    void 'the circuit opens after consecutive failures'() {
+        given:
+        var breaker = new CircuitBreaker(2, 60_000)
+
+        when:
+        breaker.failure()
+
+        then:
+        breaker.state == CLOSED
+        breaker.allowRequest()
+
+        when:
+        breaker.failure()
+
+        then:
+        breaker.state == OPEN
+        breaker.openCount == 1
+        !breaker.allowRequest()
+        breaker.nanosUntilHalfOpen() > 0
+    }
+
+    void 'a single trial request is let through once the circuit has been open long enough'() {
+        given:
+        var breaker = new CircuitBreaker(1, 50)
+        breaker.failure()
+
+        expect:
+        conditions.eventually {
+            breaker.allowRequest()
+        }
+        breaker.state == HALF_OPEN
+        !breaker.allowRequest()
+        !breaker.allowRequest()
+
+        when:
+        breaker.success()
+
+        then:
+        breaker.state == CLOSED
+        breaker.allowRequest()
+        breaker.allowRequest()
+    }
+
+    void 'a failed trial request opens the circuit again'() {
+        given:
+        var breaker = new CircuitBreaker(1, 50)
+        breaker.failure()
+        conditions.eventually {
+            breaker.allowRequest()
+        }
+
+        when:
+        breaker.failure()
+
+        then:
+        breaker.state == OPEN
+        breaker.openCount == 2
+        !breaker.allowRequest()
+    }
+
+    void 'a released trial request lets another one through'() {
+        given:
+        var breaker = new CircuitBreaker(1, 50)
+        breaker.failure()
+        conditions.eventually {
+            breaker.allowRequest()
+        }
+
+        when:
+        breaker.release()
+
+        then:
+        breaker.state == HALF_OPEN
+        breaker.allowRequest()
+        !breaker.allowRequest()
+    }
+}
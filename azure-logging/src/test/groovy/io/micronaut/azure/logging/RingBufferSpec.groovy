@@ -0,0 +1,101 @@
+package io.micronaut.azure.logging
+
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+
+class RingBufferSpec extends Specification {
+
+    void 'the slots are rounded up to a power of two'() {
+        expect:
+        RingBuffer.slotsFor(capacity) == slots
+
+        where:
+        capacity | slots
+        1        | 2
+        2        | 2
+        3        | 4
+        128      | 128
+        300      | 512
+    }
+
+    void 'the buffer holds no more elements than its capacity'() {
+        given:
+        RingBuffer<Integer> buffer = new RingBuffer<>(capacity)
+
+        expect:
+        buffer.capacity() == capacity
+        (0..<capacity).every { buffer.offer(it) }
+        !buffer.offer(capacity)
+        buffer.size() == capacity
+        buffer.poll() == 0
+        buffer.offer(capacity)
+        !buffer.offer(capacity + 1)
+        (1..capacity).collect { buffer.poll() } == (1..capacity).toList()
+        buffer.isEmpty()
+
+        where:
+        capacity << [1, 3, 5, 100]
+    }
+
+    void 'a capacity below one is rejected'() {
+        when:
+        new RingBuffer<String>(0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    void 'elements are polled in order and offers fail while the buffer is full'() {
+        given:
+        RingBuffer<Integer> buffer = new RingBuffer<>(4)
+
+        expect:
+        buffer.isEmpty()
+        buffer.poll() == null
+        (0..<4).every { buffer.offer(it) }
+        !buffer.offer(4)
+        buffer.size() == 4
+        buffer.poll() == 0
+        buffer.offer(4)
+        (1..4).collect { buffer.poll() } == [1, 2, 3, 4]
+        buffer.poll() == null
+        buffer.isEmpty()
+    }
+
+    void 'elements offered by concurrent producers are polled exactly once'() {
+        given:
+        int producers = 8
+        int perProducer = 10_000
+        RingBuffer<Integer> buffer = new RingBuffer<>(64)
+        Set<Integer> polled = ConcurrentHashMap.newKeySet()
+        CountDownLatch start = new CountDownLatch(1)
+        List<Thread> threads = (0..<producers).collect { p ->
+            Thread.start {
+                start.await()
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(p * perProducer + i)) {
+                        Thread.onSpinWait()
+                    }
+                }
+            }
+        }
+
+        when:
+        start.countDown()
+        int count = 0
+        while (count < producers * perProducer) {
+            Integer element = buffer.poll()
+            if (element != null) {
+                assert polled.add(element)
+                count++
+            }
+        }
+        threads*.join()
+
+        then:
+        polled.size() == producers * perProducer
+        buffer.poll() == null
+    }
+}
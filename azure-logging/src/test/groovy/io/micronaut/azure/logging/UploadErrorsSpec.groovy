@@ -0,0 +1,135 @@
+package io.micronaut.azure.logging
+
+import com.azure.core.exception.HttpResponseException
+import com.azure.core.http.HttpHeaderName
+import com.azure.core.http.HttpHeaders
+import com.azure.core.http.HttpResponse
+import com.azure.monitor.ingestion.models.LogsUploadError
+import com.azure.monitor.ingestion.models.LogsUploadException
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.nio.charset.Charset
+import java.time.ZonedDateTime
+import java.time.format.DateTimeFormatter
+import java.util.concurrent.CompletionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
+class UploadErrorsSpec extends Specification {
+
+    void 'the errors wrapped by futures are unwrapped'() {
+        given:
+        var error = new IOException('Connection reset')
+
+        expect:
+        UploadErrors.unwrap(new CompletionException(error)).is(error)
+    }
+
+    void 'status #status is transient: #expected'() {
+        expect:
+        UploadErrors.isTransient(responseException(status, new HttpHeaders())) == expected
+
+        where:
+        status | expected
+        400    | false
+        403    | false
+        408    | true
+        413    | false
+        429    | true
+        500    | true
+        503    | true
+    }
+
+    void 'I/O errors and timeouts are transient'() {
+        expect:
+        UploadErrors.isTransient(new UncheckedIOException(new IOException('Connection reset')))
+        UploadErrors.isTransient(new TimeoutException())
+        !UploadErrors.isTransient(new IllegalStateException())
+    }
+
+    void 'only the logs of a partial failure are reported as failed'() {
+        given:
+        var failed = ['second']
+        var error = new LogsUploadException([new LogsUploadError(responseException(503, new HttpHeaders()), failed)], 1)
+
+        expect:
+        UploadErrors.isTransient(error)
+        UploadErrors.failedLogs(error) == failed
+        UploadErrors.failedLogs(new IOException()) == null
+    }
+
+    void 'the delay requested with Retry-After is honoured'() {
+        expect:
+        UploadErrors.retryAfterNanos(responseException(429, new HttpHeaders().set(HttpHeaderName.RETRY_AFTER, '2'))) == TimeUnit.SECONDS.toNanos(2)
+        UploadErrors.retryAfterNanos(responseException(429, new HttpHeaders().set(HttpHeaderName.fromString('retry-after-ms'), '150'))) == TimeUnit.MILLISECONDS.toNanos(150)
+        UploadErrors.retryAfterNanos(responseException(503, new HttpHeaders())) == -1
+        UploadErrors.retryAfterNanos(responseException(503, new HttpHeaders().set(HttpHeaderName.RETRY_AFTER, 'soon'))) == -1
+        UploadErrors.retryAfterNanos(new IOException()) == -1
+    }
+
+    void 'Retry-After may be a date'() {
+        given:
+        var date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusMinutes(1))
+
+        when:
+        long delay = UploadErrors.retryAfterNanos(responseException(429, new HttpHeaders().set(HttpHeaderName.RETRY_AFTER, date)))
+
+        then:
+        delay > TimeUnit.SECONDS.toNanos(50)
+        delay <= TimeUnit.SECONDS.toNanos(60)
+    }
+
+    private static HttpResponseException responseException(int status, HttpHeaders headers) {
+        new HttpResponseException('Upload failed', new TestResponse(status, headers))
+    }
+
+    static class TestResponse extends HttpResponse {
+
+        private final int status
+        private final HttpHeaders headers
+
+        TestResponse(int status, HttpHeaders headers) {
+            super(null)
+            this.status = status
+            this.headers = headers
+        }
+
+        @Override
+        int getStatusCode() {
+            status
+        }
+
+        @Override
+        String getHeaderValue(String name) {
+            headers.getValue(HttpHeaderName.fromString(name))
+        }
+
+        @Override
+        HttpHeaders getHeaders() {
+            headers
+        }
+
+        @Override
+        Flux<ByteBuffer> getBody() {
+            Flux.empty()
+        }
+
+        @Override
+        Mono<byte[]> getBodyAsByteArray() {
+            Mono.empty()
+        }
+
+        @Override
+        Mono<String> getBodyAsString() {
+            Mono.empty()
+        }
+
+        @Override
+        Mono<String> getBodyAsString(Charset charset) {
+            Mono.empty()
+        }
+    }
+}
@@ -14,9 +14,11 @@ dependencies {
 
     implementation(mn.micronaut.discovery.core)
     implementation(mnReactor.micronaut.reactor)
+    compileOnly(mnCrac.micronaut.crac)
 
     testAnnotationProcessor(mn.micronaut.inject.java)
     testCompileOnly(mn.micronaut.inject.groovy)
     testImplementation(mn.micronaut.http.client)
+    testImplementation(mnCrac.micronaut.crac)
 }
 
@@ -56,7 +56,6 @@ public class AzureVaultConfigurationClient implements ConfigurationClient {
     private final AzureKeyVaultConfigurationProperties azureKeyVaultConfigurationProperties;
     private final ExecutorService executorService;
     private final SecretKeyVaultClient secretClient;
-    private final String vaultUrl;
 
     /**
      * Default Constructor.
@@ -72,12 +71,13 @@ public class AzureVaultConfigurationClient implements ConfigurationClient {
         this.azureKeyVaultConfigurationProperties = azureKeyVaultConfigurationProperties;
         this.executorService = executorService;
         this.secretClient = secretClient;
-        this.vaultUrl = azureKeyVaultConfigurationProperties.getVaultURL();
     }
 
     @Override
     public Publisher<PropertySource> getPropertySources(Environment environment) {
 
+        // read on every call, so the configuration restored from a CRaC checkpoint is used
+        String vaultUrl = azureKeyVaultConfigurationProperties.getVaultURL();
         if (StringUtils.isEmpty(vaultUrl)) {
             return Flux.empty();
         }
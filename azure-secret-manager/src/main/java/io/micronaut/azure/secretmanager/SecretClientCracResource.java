@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.secretmanager;
+
+import com.azure.security.keyvault.secrets.SecretClient;
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.BeanRegistration;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.crac.OrderedResource;
+import jakarta.inject.Singleton;
+import org.crac.Context;
+import org.crac.Resource;
+
+/**
+ * CRaC resource destroying the {@link SecretClient} beans before a checkpoint. The client cannot be closed, but
+ * dropping it means that its HTTP pipeline and the tokens of the checkpointed process are not reused after a restore.
+ * {@link io.micronaut.azure.secretmanager.client.DefaultSecretKeyVaultClient} looks the client up on every call, so
+ * it uses a new client built from the current configuration.
+ *
+ * @since 5.8.0
+ */
+@Internal
+@Singleton
+@Requires(classes = OrderedResource.class)
+@Requires(beans = SecretManagerFactory.class)
+final class SecretClientCracResource implements OrderedResource {
+
+    private final BeanContext beanContext;
+
+    /**
+     * @param beanContext The bean context
+     */
+    SecretClientCracResource(BeanContext beanContext) {
+        this.beanContext = beanContext;
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        for (BeanRegistration<SecretClient> registration : beanContext.getActiveBeanRegistrations(SecretClient.class)) {
+            beanContext.destroyBean(registration);
+        }
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        // the client is created again the next time it is looked up
+    }
+}
@@ -18,11 +18,14 @@ package io.micronaut.azure.secretmanager.client;
 
 import com.azure.security.keyvault.secrets.SecretClient;
 import com.azure.security.keyvault.secrets.models.KeyVaultSecret;
+import io.micronaut.context.BeanProvider;
 import io.micronaut.context.annotation.BootstrapContextCompatible;
 import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -34,19 +37,31 @@ import java.util.stream.Collectors;
 @Requires(classes = SecretClient.class)
 public class DefaultSecretKeyVaultClient implements SecretKeyVaultClient {
 
-    private final SecretClient client;
+    private final Supplier<SecretClient> client;
 
     public DefaultSecretKeyVaultClient(SecretClient client) {
-        this.client = client;
+        this.client = () -> client;
+    }
+
+    /**
+     * The client is looked up on every call, so a {@link SecretClient} bean re-created after a CRaC restore is used.
+     *
+     * @param clientProvider the {@link SecretClient} bean provider
+     * @since 5.8.0
+     */
+    @Inject
+    public DefaultSecretKeyVaultClient(BeanProvider<SecretClient> clientProvider) {
+        this.client = clientProvider::get;
     }
 
     @Override
     public KeyVaultSecret getSecret(String secretName) {
-        return client.getSecret(secretName);
+        return client.get().getSecret(secretName);
     }
 
     @Override
     public List<KeyVaultSecret> listSecrets() {
-        return client.listPropertiesOfSecrets().stream().map(x -> getSecret(x.getName())).collect(Collectors.toList());
+        SecretClient secretClient = client.get();
+        return secretClient.listPropertiesOfSecrets().stream().map(x -> secretClient.getSecret(x.getName())).collect(Collectors.toList());
     }
 }
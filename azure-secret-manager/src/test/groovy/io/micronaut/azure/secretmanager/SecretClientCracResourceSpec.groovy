@@ -0,0 +1,42 @@
+package io.micronaut.azure.secretmanager
+
+import com.azure.security.keyvault.secrets.SecretClient
+import io.micronaut.azure.secretmanager.client.DefaultSecretKeyVaultClient
+import io.micronaut.context.ApplicationContext
+import io.micronaut.crac.OrderedResource
+import spock.lang.Specification
+
+class SecretClientCracResourceSpec extends Specification {
+
+    void 'the key vault client uses a new secret client after a restore'() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run([
+                'azure.key-vault.vaultUrl'       : 'https://example-vault.vault.azure.net',
+                'micronaut.config-client.enabled': true
+        ])
+        SecretClient client = ctx.getBean(SecretClient)
+        DefaultSecretKeyVaultClient keyVaultClient = ctx.getBean(DefaultSecretKeyVaultClient)
+        OrderedResource resource = ctx.getBeansOfType(OrderedResource).find { it instanceof SecretClientCracResource }
+
+        expect:
+        keyVaultClient.@client.get().is(client)
+
+        when:
+        resource.beforeCheckpoint(null)
+
+        then:
+        ctx.getActiveBeanRegistrations(SecretClient).empty
+
+        when:
+        resource.afterRestore(null)
+        SecretClient restored = keyVaultClient.@client.get()
+
+        then:
+        !restored.is(client)
+        restored.is(ctx.getBean(SecretClient))
+        restored.vaultUrl == 'https://example-vault.vault.azure.net'
+
+        cleanup:
+        ctx.close()
+    }
+}
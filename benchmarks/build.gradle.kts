@@ -0,0 +1,20 @@
+plugins {
+    id("java-library")
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmh(projects.micronautAzureFunctionHttp)
+    jmh(projects.micronautAzureLogging)
+    jmh(mnLogging.logback.classic)
+    jmh(libs.managed.azure.functions.java.library)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    includes.set(listOf(".*Benchmark.*"))
+}
+
+configurations.all {
+    resolutionStrategy.preferProjectModules()
+}
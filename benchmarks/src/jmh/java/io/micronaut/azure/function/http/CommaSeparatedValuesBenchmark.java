@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function.http;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous {@code String.split} based header splitting with {@link CommaSeparatedValues} over the
+ * headers the Azure Functions host forwards for a typical browser request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommaSeparatedValuesBenchmark {
+
+    private final Map<String, String> headers = new LinkedHashMap<>();
+
+    public CommaSeparatedValuesBenchmark() {
+        headers.put("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,*/*;q=0.8");
+        headers.put("Accept-Encoding", "gzip, deflate, br");
+        headers.put("Accept-Language", "en-US,en;q=0.5");
+        headers.put("Cache-Control", "no-cache");
+        headers.put("Connection", "keep-alive");
+        headers.put("Content-Type", "application/json; charset=utf-8");
+        headers.put("Content-Length", "348");
+        headers.put("Cookie", "ARRAffinity=3b1c5e; ARRAffinitySameSite=3b1c5e; session=abc,def");
+        headers.put("Host", "my-function.azurewebsites.net");
+        headers.put("If-None-Match", "\"xyzzy\", \"r2d2,xxxx\", \"c3piozzzz\"");
+        headers.put("If-Modified-Since", "Sat, 29 Oct 1994 19:43:31 GMT");
+        headers.put("Max-Forwards", "10");
+        headers.put("Traceparent", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01");
+        headers.put("User-Agent", "Mozilla/5.0 (X11; Linux x86_64; rv:109.0) Gecko/20100101 Firefox/119.0");
+        headers.put("X-ARR-LOG-ID", "0e9b3d52-1b8d-4a7e-8c63-2f6e8f4d1a5b");
+        headers.put("X-ARR-SSL", "2048|256|CN=Microsoft Azure TLS Issuing CA 01, O=Microsoft Corporation, C=US");
+        headers.put("X-Forwarded-For", "203.0.113.195:52342, 70.41.3.18, 150.172.238.178");
+        headers.put("X-Forwarded-Proto", "https");
+        headers.put("X-Original-URL", "/api/books?page=2");
+        headers.put("X-Site-Deployment-Id", "my-function");
+        headers.put("X-WAWS-Unencoded-URL", "/api/books?page=2");
+    }
+
+    @Benchmark
+    public void stringSplit(Blackhole blackhole) {
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            blackhole.consume(stringSplit(entry.getValue()));
+        }
+    }
+
+    @Benchmark
+    public void commaSeparatedValues(Blackhole blackhole) {
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            blackhole.consume(CommaSeparatedValues.splitHeader(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private static List<String> stringSplit(String value) {
+        String[] arr = value.split(",");
+        List<String> result = new ArrayList<>();
+        for (String str : arr) {
+            result.add(str.trim());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function.http;
+
+import io.micronaut.azure.function.AzureFunction;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.core.optim.StaticOptimizations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures starting and stopping the application context of an Azure function, with and without the system
+ * environment cached by {@link StaticOptimizations#cacheEnvironment()}. Both configurations use the same builder, so
+ * the only difference is the call that the code generated by the {@code cacheEnvironment} optimization of Micronaut
+ * AOT makes. The other AOT optimizations are not measured, because they need the classes generated for an
+ * application. Each configuration runs in its own forks, so only the first start of each fork includes class loading.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class ContextStartupBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cachedEnvironment;
+
+    @Setup
+    public void setUp() {
+        if (cachedEnvironment) {
+            StaticOptimizations.cacheEnvironment();
+        }
+    }
+
+    @Benchmark
+    public ApplicationContext startContext() {
+        ApplicationContext context = AzureFunction.defaultApplicationContextBuilder().build();
+        context.start();
+        context.stop();
+        return context;
+    }
+}
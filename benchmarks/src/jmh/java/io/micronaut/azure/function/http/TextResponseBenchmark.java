@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.function.http;
+
+import com.microsoft.azure.functions.HttpMethod;
+import com.microsoft.azure.functions.HttpRequestMessage;
+import com.microsoft.azure.functions.HttpResponseMessage;
+import com.microsoft.azure.functions.HttpStatus;
+import com.microsoft.azure.functions.HttpStatusType;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.function.BinaryTypeConfiguration;
+import io.micronaut.http.MediaType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the Azure response of a JSON response, including the encoding the Functions worker applies to
+ * {@link String} bodies, with text responses passed as strings and as bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextResponseBenchmark {
+
+    @Param({"1024", "204800"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean textAsBytes;
+
+    private final BinaryTypeConfiguration binaryTypeConfiguration = new BinaryTypeConfiguration();
+    private final HttpRequestMessage<Optional<String>> request = new BenchmarkRequestMessage();
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder(size + 64).append('[');
+        int i = 0;
+        while (builder.length() < size) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"id\":").append(i).append(",\"title\":\"Die Blechtrommel – Günter Grass\",\"pages\":").append(600 + i % 50).append('}');
+            i++;
+        }
+        json = builder.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] nativeResponse() throws IOException {
+        AzureFunctionHttpResponse<Object> response = new AzureFunctionHttpResponse<>(
+            request,
+            ConversionService.SHARED,
+            binaryTypeConfiguration,
+            textAsBytes
+        );
+        response.contentType(MediaType.APPLICATION_JSON_TYPE);
+        response.getOutputStream().write(json);
+        Object body = response.getNativeResponse().getBody();
+        // the worker sends byte[] bodies as is and encodes String bodies
+        return body instanceof String text ? text.getBytes(StandardCharsets.UTF_8) : (byte[]) body;
+    }
+
+    private static final class BenchmarkRequestMessage implements HttpRequestMessage<Optional<String>> {
+
+        @Override
+        public URI getUri() {
+            return URI.create("http://localhost/books");
+        }
+
+        @Override
+        public HttpMethod getHttpMethod() {
+            return HttpMethod.GET;
+        }
+
+        @Override
+        public Map<String, String> getHeaders() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Map<String, String> getQueryParameters() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Optional<String> getBody() {
+            return Optional.empty();
+        }
+
+        @Override
+        public HttpResponseMessage.Builder createResponseBuilder(HttpStatus status) {
+            return new ResponseBuilder().status(status);
+        }
+
+        @Override
+        public HttpResponseMessage.Builder createResponseBuilder(HttpStatusType status) {
+            return new ResponseBuilder().status(status);
+        }
+    }
+}
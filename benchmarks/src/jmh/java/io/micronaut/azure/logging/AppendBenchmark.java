@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.azure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures appending events to the queue of {@link AzureAppender} from 1 to 64 producer threads while a single
+ * consumer drains it, with the pre-allocated ring buffer and with the {@link LinkedBlockingDeque} it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppendBenchmark {
+
+    @Param({"ring", "deque"})
+    public String queue;
+
+    @Param({"128", "4096"})
+    public int capacity;
+
+    private final ILoggingEvent event = new LoggingEvent();
+    private RingBuffer<ILoggingEvent> ringBuffer;
+    private BlockingQueue<ILoggingEvent> deque;
+    private Thread consumer;
+    private volatile boolean running;
+
+    @Setup
+    public void setUp() {
+        ((LoggingEvent) event).setLevel(Level.INFO);
+        ((LoggingEvent) event).setMessage("message");
+        boolean ring = "ring".equals(queue);
+        if (ring) {
+            ringBuffer = new RingBuffer<>(capacity);
+        } else {
+            deque = new LinkedBlockingDeque<>(capacity);
+        }
+        running = true;
+        consumer = new Thread(() -> {
+            while (running) {
+                Object polled = ring ? ringBuffer.poll() : deque.poll();
+                if (polled == null) {
+                    Thread.onSpinWait();
+                }
+            }
+        }, "azure-appender-consumer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        running = false;
+        consumer.join();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean append1() {
+        return append();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean append4() {
+        return append();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean append16() {
+        return append();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean append64() {
+        return append();
+    }
+
+    private boolean append() {
+        // the deque waited up to 100 ms for a free slot before dropping the event
+        return ringBuffer != null ? ringBuffer.offer(event) : offerToDeque();
+    }
+
+    private boolean offerToDeque() {
+        try {
+            return deque.offer(event, 100, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
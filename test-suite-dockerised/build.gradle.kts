@@ -2,6 +2,7 @@ plugins {
     groovy
     id("io.micronaut.build.internal.azure-example")
     alias(libs.plugins.azurefunctions.plugin)
+    id("io.micronaut.aot")
 }
 
 version = "1.0"
@@ -10,6 +11,17 @@ micronaut {
     version(libs.versions.micronaut.platform.get())
     runtime("azure_function")
     testRuntime("spock")
+    aot {
+        // AzureFunction starts the context with the azure and function environments instead of deducing them
+        deduceEnvironment.set(false)
+        targetEnvironments.set(listOf("azure", "function"))
+        cacheEnvironment.set(true)
+        optimizeServiceLoading.set(true)
+        optimizeClassLoading.set(true)
+        convertYamlToJava.set(true)
+        precomputeOperations.set(true)
+        replaceLogbackXml.set(true)
+    }
 }
 
 dependencies {
@@ -42,12 +54,28 @@ configurations.all {
 }
 
 tasks {
-    // We need the jar file for projects.micronautAzureFunctionHttp
+    val jar = named<Jar>("jar")
+    val optimizedJitJar = named<Jar>("optimizedJitJar")
+
     val functionPackage = named("azureFunctionsPackage") {
+        // We need the jar file for projects.micronautAzureFunctionHttp
         dependsOn(rootProject.getTasksByName("publishAllPublicationsToBuildRepository", true))
     }
 
-    named("test") {
+    // The Azure Functions plugin packages the archive of the jar task, so the jar optimized by Micronaut AOT takes its place in a copy of the package
+    val optimizedFunctionPackage = register<Sync>("optimizedAzureFunctionsPackage") {
         dependsOn(functionPackage)
+        val jarName = jar.flatMap { it.archiveFileName }
+        from(layout.buildDirectory.dir("azure-functions/test-suite")) {
+            exclude { it.path == jarName.get() }
+        }
+        from(optimizedJitJar) {
+            rename { jarName.get() }
+        }
+        into(layout.buildDirectory.dir("azure-functions-optimized/test-suite"))
+    }
+
+    named("test") {
+        dependsOn(optimizedFunctionPackage)
     }
 }
@@ -32,7 +32,7 @@ class ConcurrentFunctionSpec extends Specification {
 
     def setupSpec() {
         azureFunctionContainer
-                .tap { copyDirectory(it, new File("build/azure-functions/test-suite"), "/home/site/wwwroot") }
+                .tap { copyDirectory(it, new File("build/azure-functions-optimized/test-suite"), "/home/site/wwwroot") }
                 .start()
     }
 
@@ -29,7 +29,7 @@ class HeaderFunctionSpec extends Specification {
 
     def setupSpec() {
         azureFunctionContainer
-                .tap { copyDirectory(it, new File("build/azure-functions/test-suite"), "/home/site/wwwroot") }
+                .tap { copyDirectory(it, new File("build/azure-functions-optimized/test-suite"), "/home/site/wwwroot") }
                 .start()
     }
 